@@ -0,0 +1,170 @@
+package lld.resturantrating;
+
+import lld.resturantrating.rateing.model.FraudSignal;
+import lld.resturantrating.rateing.model.Rating;
+import lld.resturantrating.rateing.model.RatingVerdict;
+import lld.resturantrating.rateing.service.RatingFraudDetector;
+import lld.resturantrating.rateing.service.RatingService;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+// Replays simulated traffic at 1000 ratings a second through RatingFraudDetector. Honest
+// customers rate now and then; injected into the stream are bots rating in bursts,
+// customers rating one restaurant over and over, and a campaign of fresh accounts
+// one-starring popular restaurants. Reports how much of the abuse is held, how many
+// honest ratings are held by mistake, and what inspecting costs per rating next to
+// RatingService.addRating, with the sketches sized for a tenth of the real rate and for it.
+public class FraudDetectionBenchmark {
+    private static final int CUSTOMERS = 1_000_000;
+    private static final int RESTAURANTS = 50_000;
+    private static final int HONEST_RATINGS = 3_000_000;
+    private static final int RATINGS_PER_SECOND = 1_000;
+    private static final long START = 1_700_000_000_000L;
+    private static final long DAY = 86_400_000L;
+
+    private static final int BOTS = 300;
+    private static final int BOT_BURST = 30;
+    private static final int REPEATERS = 300;
+    private static final int REPEATS = 6;
+    private static final int CAMPAIGN_ACCOUNTS = 2_000;
+    private static final int CAMPAIGN_TARGETS = 5;
+
+    // Injected ratings carry their ground truth in the description
+    private static final String HONEST = null;
+    private static final String ABUSE = "abuse";
+    private static final String ABUSE_TOLERATED = "abuse-below-threshold";
+
+    public static void main(String[] args) {
+        Random random = new Random(49);
+        long[] registeredAt = new long[CUSTOMERS + CAMPAIGN_ACCOUNTS];
+        for (int id = 0; id < CUSTOMERS; id++) {
+            // One customer in twenty signed up during the replay's day
+            registeredAt[id] = random.nextInt(20) == 0 ? START - random.nextInt((int) DAY) : START - 30 * DAY;
+        }
+        List<Rating> stream = stream(random, registeredAt);
+        System.out.println("Ratings replayed: " + stream.size() + " over "
+                + (stream.get(stream.size() - 1).getTimestamp() - START) / 60_000 + " simulated minutes");
+
+        long baselineNanos = ratingServiceCost(stream);
+        System.out.println(String.format("RatingService.addRating alone: %.0f ns/rating", (double) baselineNanos / stream.size()));
+        for (int expectedRate : new int[]{RATINGS_PER_SECOND / 10, RATINGS_PER_SECOND}) {
+            run(stream, registeredAt, expectedRate);
+        }
+    }
+
+    private static void run(List<Rating> stream, long[] registeredAt, int expectedRate) {
+        // Warm up on a throwaway detector so both widths are measured on compiled code
+        RatingFraudDetector warmup = detector(registeredAt, expectedRate);
+        for (int i = 0; i < 500_000; i++) {
+            warmup.inspect(stream.get(i));
+        }
+
+        RatingFraudDetector detector = detector(registeredAt, expectedRate);
+        RatingVerdict[] verdicts = new RatingVerdict[stream.size()];
+        long begin = System.nanoTime();
+        for (int i = 0; i < verdicts.length; i++) {
+            verdicts[i] = detector.inspect(stream.get(i));
+        }
+        long nanos = System.nanoTime() - begin;
+
+        long honest = 0;
+        long honestHeld = 0;
+        long abuse = 0;
+        long abuseHeld = 0;
+        for (int i = 0; i < verdicts.length; i++) {
+            String truth = stream.get(i).getDescriptions();
+            if (truth == HONEST) {
+                honest++;
+                honestHeld += verdicts[i].isHeld() ? 1 : 0;
+            } else if (truth == ABUSE) {
+                abuse++;
+                abuseHeld += verdicts[i].isHeld() ? 1 : 0;
+            }
+        }
+        System.out.println(String.format("expected %d/s (%.1f MB of sketches): %.0f ns/rating, abuse held %.1f%% (%d/%d), honest held %.4f%% (%d/%d)",
+                expectedRate, detector.getSketchMemoryBytes() / 1e6, (double) nanos / verdicts.length,
+                100.0 * abuseHeld / abuse, abuseHeld, abuse, 100.0 * honestHeld / honest, honestHeld, honest));
+        System.out.println("  " + detector);
+    }
+
+    private static RatingFraudDetector detector(long[] registeredAt, int expectedRate) {
+        return new RatingFraudDetector(id -> id < registeredAt.length ? registeredAt[id] : -1L, expectedRate);
+    }
+
+    private static long ratingServiceCost(List<Rating> stream) {
+        for (int round = 0; round < 2; round++) {
+            RatingService ratingService = new RatingService();
+            long begin = System.nanoTime();
+            for (Rating rating : stream) {
+                ratingService.addRating(rating);
+            }
+            if (round == 1) {
+                return System.nanoTime() - begin;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static List<Rating> stream(Random random, long[] registeredAt) {
+        long duration = (long) HONEST_RATINGS * 1000 / RATINGS_PER_SECOND;
+        // Each restaurant has a quality its honest ratings cluster around
+        int[] quality = new int[RESTAURANTS];
+        for (int id = 0; id < RESTAURANTS; id++) {
+            quality[id] = 2 + random.nextInt(4);
+        }
+        List<Rating> stream = new ArrayList<>(HONEST_RATINGS + 50_000);
+        for (int i = 0; i < HONEST_RATINGS; i++) {
+            int restaurantId = popularRestaurant(random);
+            int stars = Math.max(1, Math.min(5, quality[restaurantId] + random.nextInt(3) - 1));
+            stream.add(rating(random.nextInt(CUSTOMERS), restaurantId, stars, START + (long) i * 1000 / RATINGS_PER_SECOND, HONEST));
+        }
+        // Bots: 30 ratings two seconds apart; the first ten are within the allowance
+        for (int bot = 0; bot < BOTS; bot++) {
+            int customerId = random.nextInt(CUSTOMERS);
+            long at = START + (long) (random.nextDouble() * (duration - 60_000));
+            for (int i = 0; i < BOT_BURST; i++) {
+                stream.add(rating(customerId, random.nextInt(RESTAURANTS), 5, at + i * 2_000L, i < 10 ? ABUSE_TOLERATED : ABUSE));
+            }
+        }
+        // Repeaters: one restaurant six times, 40 seconds apart; three are allowed
+        for (int repeater = 0; repeater < REPEATERS; repeater++) {
+            int customerId = random.nextInt(CUSTOMERS);
+            int restaurantId = random.nextInt(RESTAURANTS);
+            long at = START + (long) (random.nextDouble() * (duration - 300_000));
+            for (int i = 0; i < REPEATS; i++) {
+                stream.add(rating(customerId, restaurantId, 1, at + i * 40_000L, i < 3 ? ABUSE_TOLERATED : ABUSE));
+            }
+        }
+        // Campaign: within ten minutes, fresh accounts bomb a few popular restaurants with
+        // the star their regulars never give
+        for (int account = 0; account < CAMPAIGN_ACCOUNTS; account++) {
+            int customerId = CUSTOMERS + account;
+            long at = START + duration * 2 / 3 + (long) (random.nextDouble() * 600_000);
+            registeredAt[customerId] = at - 3_600_000L;
+            stream.add(rating(customerId, account % CAMPAIGN_TARGETS, quality[account % CAMPAIGN_TARGETS] > 2 ? 1 : 5, at, ABUSE));
+        }
+        stream.sort(Comparator.comparingLong(Rating::getTimestamp));
+        for (int i = 0; i < stream.size(); i++) {
+            stream.get(i).setId(i);
+        }
+        return stream;
+    }
+
+    // A few hundred restaurants take a third of the traffic
+    private static int popularRestaurant(Random random) {
+        return random.nextInt(3) == 0 ? random.nextInt(500) : random.nextInt(RESTAURANTS);
+    }
+
+    private static Rating rating(int customerId, int restaurantId, int stars, long timestamp, String truth) {
+        Rating rating = new Rating();
+        rating.setCustomerId(customerId);
+        rating.setRestaurantId(restaurantId);
+        rating.setRatingNumber(stars);
+        rating.setTimestamp(timestamp);
+        rating.setDescriptions(truth);
+        return rating;
+    }
+}
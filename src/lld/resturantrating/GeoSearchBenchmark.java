@@ -0,0 +1,99 @@
+package lld.resturantrating;
+
+import lld.resturantrating.restaurant.model.Restaurant;
+import lld.resturantrating.restaurant.service.GeoGridIndex;
+import lld.resturantrating.restaurant.service.RestaurantService;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+// Nearest-N open restaurants around a point, over a million restaurants clustered around
+// a dozen cities. Results are checked against a brute-force scan before timing.
+public class GeoSearchBenchmark {
+    private static final int RESTAURANTS = 1_000_000;
+    private static final int LIMIT = 20;
+    private static final int QUERIES = 100_000;
+    private static final double[][] CITIES = {
+            {12.97, 77.59}, {19.07, 72.88}, {28.61, 77.21}, {13.08, 80.27}, {22.57, 88.36}, {17.39, 78.49},
+            {18.52, 73.86}, {23.02, 72.57}, {26.91, 75.79}, {26.85, 80.95}, {21.17, 72.83}, {9.93, 76.27}};
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        RestaurantService restaurantService = new RestaurantService();
+        List<Restaurant> all = new ArrayList<>(RESTAURANTS);
+        for (int id = 0; id < RESTAURANTS; id++) {
+            double[] city = CITIES[random.nextInt(CITIES.length)];
+            Restaurant restaurant = new Restaurant();
+            restaurant.setId(id);
+            restaurant.setName("Restaurant " + id);
+            restaurant.setPrice(100 + random.nextInt(900));
+            restaurant.setAvarageRating(1 + random.nextInt(5));
+            // Roughly 8 km standard deviation around the city centre
+            restaurant.setLocation(city[0] + random.nextGaussian() * 0.07, city[1] + random.nextGaussian() * 0.07);
+            restaurant.setOpen(random.nextInt(10) != 0);
+            restaurantService.add(restaurant);
+            all.add(restaurant);
+        }
+
+        int mismatches = 0;
+        for (int i = 0; i < 200; i++) {
+            double[] point = queryPoint(random);
+            double radiusKm = 1 + random.nextInt(10);
+            List<Restaurant> indexed = restaurantService.nearestOpenSortedByRating(point[0], point[1], radiusKm, LIMIT);
+            if (!sameRestaurants(indexed, bruteForce(all, point[0], point[1], radiusKm))) {
+                mismatches++;
+            }
+        }
+        System.out.println("Mismatches against brute force over 200 queries: " + mismatches);
+
+        for (double radiusKm : new double[]{1, 5, 25}) {
+            for (int i = 0; i < QUERIES / 10; i++) {
+                double[] point = queryPoint(random);
+                restaurantService.nearestOpenSortedByRating(point[0], point[1], radiusKm, LIMIT);
+            }
+            long found = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                double[] point = queryPoint(random);
+                found += restaurantService.nearestOpenSortedByRating(point[0], point[1], radiusKm, LIMIT).size();
+            }
+            long nanos = (System.nanoTime() - start) / QUERIES;
+            System.out.println(String.format("radius %4.0f km: %7.1f us/query, %.1f results/query", radiusKm, nanos / 1000.0,
+                    found / (double) QUERIES));
+        }
+
+        long start = System.nanoTime();
+        double[] point = queryPoint(random);
+        bruteForce(all, point[0], point[1], 5);
+        System.out.println(String.format("Brute-force scan: %.1f us/query", (System.nanoTime() - start) / 1000.0));
+    }
+
+    // Mostly inside a city, sometimes out in the countryside where the grid is sparse
+    private static double[] queryPoint(Random random) {
+        if (random.nextInt(10) == 0) {
+            return new double[]{10 + random.nextDouble() * 18, 72 + random.nextDouble() * 16};
+        }
+        double[] city = CITIES[random.nextInt(CITIES.length)];
+        return new double[]{city[0] + random.nextGaussian() * 0.1, city[1] + random.nextGaussian() * 0.1};
+    }
+
+    private static List<Restaurant> bruteForce(List<Restaurant> all, double latitude, double longitude, double radiusKm) {
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        List<Restaurant> inRange = new ArrayList<>();
+        for (Restaurant restaurant : all) {
+            if (restaurant.isOpen() && GeoGridIndex.distanceKm(latitude, longitude, cosLatitude,
+                    restaurant.getLatitude(), restaurant.getLongitude()) <= radiusKm) {
+                inRange.add(restaurant);
+            }
+        }
+        inRange.sort(Comparator.comparingDouble(r -> GeoGridIndex.distanceKm(latitude, longitude, cosLatitude,
+                r.getLatitude(), r.getLongitude())));
+        return inRange.subList(0, Math.min(LIMIT, inRange.size()));
+    }
+
+    private static boolean sameRestaurants(List<Restaurant> a, List<Restaurant> b) {
+        return a.size() == b.size() && a.containsAll(b);
+    }
+}
@@ -0,0 +1,97 @@
+package lld.resturantrating;
+
+import lld.resturantrating.customer.service.UserService;
+import lld.resturantrating.rateing.model.Rating;
+import lld.resturantrating.rateing.service.RatingService;
+import lld.resturantrating.restaurant.model.Restaurant;
+import lld.resturantrating.restaurant.service.ListingCache;
+import lld.resturantrating.restaurant.service.RestaurantService;
+import lld.resturantrating.restaurant.service.SortByPriceStrategy;
+import lld.resturantrating.restaurant.service.SortByRatingStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Hot pincode listings with a trickle of ratings, first uncached and then through the
+// listing cache. Afterwards every cached answer is compared with a fresh query.
+public class ListingCacheBenchmark {
+    private static final int RESTAURANTS = 100_000;
+    private static final int PIN_CODES = 2_000;
+    private static final int OPERATIONS = 1_000_000;
+    private static final int WRITE_PERCENT = 5;
+
+    public static void main(String[] args) {
+        RestaurantManager manager = RestaurantManager.getRestaurantManager(new RestaurantService(), new RatingService(), new UserService());
+        Random random = new Random(48);
+        for (int id = 0; id < RESTAURANTS; id++) {
+            Restaurant restaurant = new Restaurant();
+            restaurant.setId(id);
+            restaurant.setName("Restaurant " + id);
+            restaurant.setFood("Food " + id % 40);
+            restaurant.setPrice(100 + random.nextInt(900));
+            int first = random.nextInt(PIN_CODES);
+            restaurant.setServiceablePinCode(List.of(pinCode(first), pinCode((first + 1) % PIN_CODES)));
+            manager.addRestaurant(restaurant);
+        }
+
+        long uncachedNanos = run(manager, new Random(1), OPERATIONS / 4);
+        System.out.println(String.format("Uncached: %.2f us/operation", uncachedNanos / 1000.0));
+
+        ListingCache cache = manager.enableListingCache(3);
+        long cachedNanos = run(manager, new Random(1), OPERATIONS);
+        System.out.println(String.format("Cached:   %.2f us/operation", cachedNanos / 1000.0));
+        System.out.println(cache);
+
+        int stale = 0;
+        for (int i = 0; i < 20_000; i++) {
+            String pinCode = hotPinCode(random);
+            int page = random.nextInt(3);
+            RestaurantService service = manager.getRestaurantService();
+            if (!manager.topRatedByPincode(pinCode, page, 10)
+                    .equals(service.pageByPinCodeSorted(pinCode, new SortByRatingStrategy(), page * 10, 10, true))
+                    || !manager.listRestorantByPincodeSortedByPrice(pinCode)
+                    .equals(service.listByPinCodeSorted(pinCode, new SortByPriceStrategy()))) {
+                stale++;
+            }
+            if (i % 10 == 0) {
+                manager.addRating(rating(random));
+            }
+        }
+        System.out.println("Stale cached answers in 20000 checks: " + stale);
+    }
+
+    private static long run(RestaurantManager manager, Random random, int operations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            int operation = random.nextInt(100);
+            String pinCode = hotPinCode(random);
+            if (operation < WRITE_PERCENT) {
+                manager.addRating(rating(random));
+            } else if (operation < 60) {
+                manager.topRatedByPincode(pinCode, random.nextInt(4), 10);
+            } else if (operation < 85) {
+                manager.cheapestByPincode(pinCode, 0, 10);
+            } else {
+                manager.listRestorantByPincodeSortedByPrice(pinCode);
+            }
+        }
+        return (System.nanoTime() - start) / operations;
+    }
+
+    private static Rating rating(Random random) {
+        Rating rating = new Rating();
+        rating.setRestaurantId(random.nextInt(RESTAURANTS));
+        rating.setRatingNumber(1 + random.nextInt(5));
+        return rating;
+    }
+
+    // Skewed: a fifth of the pincodes get most of the traffic, as city centres do
+    private static String hotPinCode(Random random) {
+        return pinCode(random.nextInt(10) < 8 ? random.nextInt(PIN_CODES / 5) : random.nextInt(PIN_CODES));
+    }
+
+    private static String pinCode(int n) {
+        return String.valueOf(560000 + n);
+    }
+}
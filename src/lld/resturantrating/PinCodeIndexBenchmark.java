@@ -0,0 +1,100 @@
+package lld.resturantrating;
+
+import lld.resturantrating.restaurant.model.Restaurant;
+import lld.resturantrating.restaurant.service.RestaurantService;
+import lld.resturantrating.restaurant.service.SortByRatingStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Compares the indexed pincode lookup with the full scan it replaced, at 1M restaurants
+// spread over 20k pincodes with 1-5 serviceable pincodes each.
+public class PinCodeIndexBenchmark {
+    private static final int RESTAURANTS = 1_000_000;
+    private static final int PIN_CODES = 20_000;
+    private static final int INDEXED_QUERIES = 100_000;
+    private static final int SCAN_QUERIES = 20;
+
+    public static void main(String[] args) {
+        Random random = new Random(39);
+        String[] pinCodes = new String[PIN_CODES];
+        for (int i = 0; i < PIN_CODES; i++) {
+            pinCodes[i] = String.valueOf(400000 + i);
+        }
+
+        RestaurantService restaurantService = new RestaurantService();
+        long start = System.nanoTime();
+        for (int id = 1; id <= RESTAURANTS; id++) {
+            restaurantService.add(restaurant(id, random, pinCodes));
+        }
+        System.out.println("Indexed " + RESTAURANTS + " restaurants in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        // Warm up both paths before measuring
+        runIndexed(restaurantService, pinCodes, random, 20_000);
+        scan(restaurantService.listAll(), pinCodes[0]);
+
+        start = System.nanoTime();
+        long results = runIndexed(restaurantService, pinCodes, random, INDEXED_QUERIES);
+        long indexedNanos = (System.nanoTime() - start) / INDEXED_QUERIES;
+        System.out.println("Indexed listByPinCodeSorted: " + String.format("%.1f", indexedNanos / 1000.0) + " us/query, "
+                + String.format("%.1f", results / (double) INDEXED_QUERIES) + " results/query");
+
+        List<Restaurant> all = restaurantService.listAll();
+        start = System.nanoTime();
+        long scanned = 0;
+        for (int i = 0; i < SCAN_QUERIES; i++) {
+            scanned += scan(all, pinCodes[random.nextInt(PIN_CODES)]).size();
+        }
+        long scanNanos = (System.nanoTime() - start) / SCAN_QUERIES;
+        System.out.println("Full scan (previous implementation): " + String.format("%.1f", scanNanos / 1000.0) + " us/query ("
+                + scanned + " results)");
+        System.out.println("Speedup: " + String.format("%.0f", scanNanos / (double) indexedNanos) + "x");
+
+        // Moving a restaurant to other pincodes must keep both sides of the index in step
+        Restaurant moved = restaurantService.get(1);
+        String oldPinCode = moved.getServiceablePinCode().get(0);
+        moved.setServiceablePinCode(List.of("999999"));
+        restaurantService.update(moved);
+        boolean stillListed = restaurantService.listByPinCode(oldPinCode).contains(moved);
+        boolean newlyListed = restaurantService.listByPinCode("999999").contains(moved);
+        System.out.println("After update: listed under old pincode=" + stillListed + ", new pincode=" + newlyListed);
+    }
+
+    private static long runIndexed(RestaurantService restaurantService, String[] pinCodes, Random random, int queries) {
+        SortByRatingStrategy byRating = new SortByRatingStrategy();
+        long results = 0;
+        for (int i = 0; i < queries; i++) {
+            results += restaurantService.listByPinCodeSorted(pinCodes[random.nextInt(PIN_CODES)], byRating).size();
+        }
+        return results;
+    }
+
+    private static List<Restaurant> scan(List<Restaurant> all, String pinCode) {
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (Restaurant restaurant : all) {
+            if (restaurant.getServiceablePinCode().contains(pinCode)) {
+                restaurants.add(restaurant);
+            }
+        }
+        return restaurants;
+    }
+
+    private static Restaurant restaurant(int id, Random random, String[] pinCodes) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setName("Restaurant " + id);
+        restaurant.setFood("Food " + (id % 50));
+        restaurant.setPrice(100 + random.nextInt(900));
+        restaurant.setAvarageRating(1 + random.nextInt(5));
+        // Neighbouring pincodes, as a restaurant delivers to a contiguous area
+        int first = random.nextInt(PIN_CODES);
+        int count = 1 + random.nextInt(5);
+        List<String> serviceable = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            serviceable.add(pinCodes[(first + i) % PIN_CODES]);
+        }
+        restaurant.setServiceablePinCode(serviceable);
+        return restaurant;
+    }
+}
@@ -0,0 +1,99 @@
+package lld.resturantrating;
+
+import lld.resturantrating.restaurant.model.Restaurant;
+import lld.resturantrating.restaurant.service.RestaurantSortStrategy;
+import lld.resturantrating.restaurant.service.RestaurantService;
+import lld.resturantrating.restaurant.service.SortByRatingStrategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+// Top-20 listing latency as a pincode grows, for the per-pincode rankings against
+// sorting the pincode on every request. Rating changes are interleaved with the
+// queries so the rankings are measured while being maintained.
+public class RankedListingBenchmark {
+    private static final int[] PIN_CODE_SIZES = {1_000, 10_000, 100_000, 500_000};
+    private static final int PAGE_SIZE = 20;
+    private static final int QUERIES = 20_000;
+    private static final int SORT_QUERIES = 50;
+
+    public static void main(String[] args) {
+        Random random = new Random(40);
+        RestaurantService restaurantService = new RestaurantService();
+        RestaurantSortStrategy byRating = new SortByRatingStrategy();
+        int nextId = 1;
+        int[] firstIds = new int[PIN_CODE_SIZES.length];
+        for (int p = 0; p < PIN_CODE_SIZES.length; p++) {
+            firstIds[p] = nextId;
+            for (int i = 0; i < PIN_CODE_SIZES[p]; i++) {
+                restaurantService.add(restaurant(nextId++, "P" + PIN_CODE_SIZES[p], random));
+            }
+        }
+
+        System.out.println("restaurants/pincode   ranked top-" + PAGE_SIZE + " (us)   rating updates (us)   full sort (us)");
+        for (int p = 0; p < PIN_CODE_SIZES.length; p++) {
+            String pinCode = "P" + PIN_CODE_SIZES[p];
+            int size = PIN_CODE_SIZES[p];
+
+            // Warm up both paths
+            runRanked(restaurantService, byRating, pinCode, firstIds[p], size, random, QUERIES / 4);
+            sortAll(restaurantService, byRating, pinCode);
+
+            long updateNanos = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                long updateStart = System.nanoTime();
+                restaurantService.updateRating(firstIds[p] + random.nextInt(size), 1 + random.nextInt(400) / 100.0);
+                updateNanos += System.nanoTime() - updateStart;
+                int page = random.nextInt(5);
+                restaurantService.pageByPinCodeSorted(pinCode, byRating, page * PAGE_SIZE, PAGE_SIZE, true);
+            }
+            long rankedNanos = (System.nanoTime() - start - updateNanos) / QUERIES;
+
+            start = System.nanoTime();
+            for (int i = 0; i < SORT_QUERIES; i++) {
+                sortAll(restaurantService, byRating, pinCode);
+            }
+            long sortNanos = (System.nanoTime() - start) / SORT_QUERIES;
+
+            System.out.println(String.format("%19d   %20.2f   %19.2f   %14.1f", size, rankedNanos / 1000.0,
+                    updateNanos / (double) QUERIES / 1000.0, sortNanos / 1000.0));
+        }
+
+        // The ranked page must match a fresh sort of the same pincode
+        String pinCode = "P" + PIN_CODE_SIZES[1];
+        List<Restaurant> ranked = restaurantService.pageByPinCodeSorted(pinCode, byRating, 40, PAGE_SIZE, true);
+        List<Restaurant> sorted = sortAll(restaurantService, byRating, pinCode);
+        List<Restaurant> expected = new ArrayList<>(sorted.subList(sorted.size() - 40 - PAGE_SIZE, sorted.size() - 40));
+        Collections.reverse(expected);
+        System.out.println("Ranked page matches full sort: " + ranked.equals(expected));
+    }
+
+    private static void runRanked(RestaurantService restaurantService, RestaurantSortStrategy strategy, String pinCode,
+                                  int firstId, int size, Random random, int queries) {
+        for (int i = 0; i < queries; i++) {
+            restaurantService.updateRating(firstId + random.nextInt(size), 1 + random.nextInt(400) / 100.0);
+            restaurantService.pageByPinCodeSorted(pinCode, strategy, random.nextInt(5) * PAGE_SIZE, PAGE_SIZE, true);
+        }
+    }
+
+    // What every listing request paid before: copy the pincode and sort all of it
+    private static List<Restaurant> sortAll(RestaurantService restaurantService, RestaurantSortStrategy strategy, String pinCode) {
+        List<Restaurant> restaurants = restaurantService.listByPinCode(pinCode);
+        restaurants.sort(strategy.getComparator().thenComparingInt(Restaurant::getId));
+        return restaurants;
+    }
+
+    private static Restaurant restaurant(int id, String pinCode, Random random) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setName("Restaurant " + id);
+        restaurant.setFood("Food " + (id % 50));
+        restaurant.setPrice(100 + random.nextInt(900));
+        restaurant.setAvarageRating(1 + random.nextInt(5));
+        restaurant.setServiceablePinCode(List.of(pinCode));
+        return restaurant;
+    }
+}
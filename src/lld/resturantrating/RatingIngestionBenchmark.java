@@ -0,0 +1,116 @@
+package lld.resturantrating;
+
+import lld.resturantrating.rateing.model.Rating;
+import lld.resturantrating.rateing.model.RatingAggregate;
+import lld.resturantrating.rateing.service.RatingIngestor;
+import lld.resturantrating.rateing.service.RatingService;
+import lld.resturantrating.restaurant.model.Restaurant;
+import lld.resturantrating.restaurant.service.AverageRatingStrategy;
+import lld.resturantrating.restaurant.service.RestaurantService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+// Producer threads push rating bursts through RatingIngestor while restaurant averages
+// are kept up to date, and the run reports ingested ratings per second. Every restaurant's
+// aggregate is then checked against the number of ratings produced for it.
+public class RatingIngestionBenchmark {
+    private static final int RESTAURANTS = 100_000;
+    private static final int RATINGS_PER_PRODUCER = 1_000_000;
+    private static final int BURST = 256;
+    private static final int[] PRODUCER_COUNTS = {1, 2, 4, 8};
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("CPUs: " + Runtime.getRuntime().availableProcessors());
+        for (int producers : PRODUCER_COUNTS) {
+            run(producers);
+        }
+    }
+
+    private static void run(int producers) throws InterruptedException {
+        RestaurantService restaurantService = new RestaurantService();
+        for (int id = 0; id < RESTAURANTS; id++) {
+            Restaurant restaurant = new Restaurant();
+            restaurant.setId(id);
+            restaurant.setName("Restaurant " + id);
+            restaurant.setPrice(100 + id % 900);
+            restaurant.setServiceablePinCode(List.of("P" + id % 2_000));
+            restaurantService.add(restaurant);
+        }
+        RatingService ratingService = new RatingService();
+        AverageRatingStrategy strategy = new AverageRatingStrategy(restaurantService);
+        RatingIngestor ingestor = new RatingIngestor(ratingService, strategy::updateRating,
+                Math.max(2, Runtime.getRuntime().availableProcessors()), 1024);
+
+        long[] produced = new long[RESTAURANTS];
+        long[][] producedByThread = new long[producers][RESTAURANTS];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long[] counts = producedByThread[p];
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                Random random = new Random(41 + producer);
+                awaitQuietly(start);
+                List<Rating> burst = new ArrayList<>(BURST);
+                for (int i = 0; i < RATINGS_PER_PRODUCER; i++) {
+                    // A few hot restaurants get most of the traffic, as after a promotion
+                    int restaurantId = random.nextInt(10) < 3 ? random.nextInt(100) : random.nextInt(RESTAURANTS);
+                    Rating rating = new Rating();
+                    rating.setId(producer * RATINGS_PER_PRODUCER + i);
+                    rating.setCustomerId(random.nextInt(1_000_000));
+                    rating.setRestaurantId(restaurantId);
+                    rating.setRatingNumber(1 + random.nextInt(5));
+                    burst.add(rating);
+                    counts[restaurantId]++;
+                    if (burst.size() == BURST) {
+                        ingestor.submit(burst);
+                        burst = new ArrayList<>(BURST);
+                    }
+                }
+                ingestor.submit(burst);
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        ingestor.flush();
+        long elapsed = System.nanoTime() - begin;
+        ingestor.shutdown();
+
+        for (long[] counts : producedByThread) {
+            for (int id = 0; id < RESTAURANTS; id++) {
+                produced[id] += counts[id];
+            }
+        }
+        int mismatches = 0;
+        int staleAverages = 0;
+        for (int id = 0; id < RESTAURANTS; id++) {
+            RatingAggregate aggregate = ratingService.getAggregate(id);
+            if (aggregate.getCount() != produced[id]) {
+                mismatches++;
+            }
+            if (aggregate.getCount() > 0 && restaurantService.get(id).getRatingScore() != aggregate.getAverage()) {
+                staleAverages++;
+            }
+        }
+        long total = (long) producers * RATINGS_PER_PRODUCER;
+        System.out.println(String.format("%d producer(s): %,d ratings in %d ms = %,.0f ratings/s, count mismatches=%d, stale averages=%d",
+                producers, total, elapsed / 1_000_000, total / (elapsed / 1e9), mismatches, staleAverages));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -3,17 +3,29 @@ package lld.resturantrating;
 import lld.resturantrating.customer.model.Customer;
 import lld.resturantrating.customer.service.UserService;
 import lld.resturantrating.rateing.model.Rating;
+import lld.resturantrating.rateing.model.RatingAggregate;
+import lld.resturantrating.rateing.service.RatingFraudDetector;
+import lld.resturantrating.rateing.service.RatingIngestor;
 import lld.resturantrating.rateing.service.RatingService;
 import lld.resturantrating.restaurant.model.Restaurant;
 import lld.resturantrating.restaurant.service.*;
+import lld.resturantrating.storage.RestaurantStore;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class RestaurantManager {
 	private static RestaurantManager instance;
 	private final RestaurantService restaurantService;
 	private final RatingService ratingService;
 	private final UserService userService;
+	private volatile RestaturantRatingStategry ratingStrategy;
+	private RatingIngestor ratingIngestor;
+	private volatile RestaurantStore store;
+	private volatile ListingCache listingCache;
+	private volatile RatingFraudDetector fraudDetector;
+	private volatile boolean holdFlaggedRatings;
 
 	// Constructor Injection - Dependencies injected from outside
 	private RestaurantManager(
@@ -23,6 +35,7 @@ public class RestaurantManager {
 		this.restaurantService = restaurantService;
 		this.ratingService = ratingService;
 		this.userService = userService;
+		this.ratingStrategy = new AverageRatingStrategy(restaurantService);
 	}
 
 	public static synchronized RestaurantManager getRestaurantManager(RestaurantService restaurantService,
@@ -36,19 +49,31 @@ public class RestaurantManager {
 		}
 	}
 	public Restaurant addRestaurant(Restaurant restaurant){
+		persist(restaurant);
 		return restaurantService.add(restaurant);
 	}
+	public Restaurant updateRestaurant(Restaurant restaurant){
+		persist(restaurant);
+		return restaurantService.update(restaurant);
+	}
 	public List<Restaurant> restaurantList(){
 		return restaurantService.listAll();
 	}
 	public Customer addCustomer(Customer customer){
+		if (store != null) {
+			store.saveCustomer(customer);
+		}
 		return userService.add(customer);
 	}
 	public List<Restaurant> listRestorantByPincode(String pincode){
 		return restaurantService.listByPinCode(pincode);
 	}
 	public List<Restaurant> listRestorantByPincodeSorted(String pincode,RestaurantSortStrategy strategy){
-		return restaurantService.listByPinCodeSorted(pincode, strategy);
+		ListingCache cache = listingCache;
+		if (cache == null) {
+			return restaurantService.listByPinCodeSorted(pincode, strategy);
+		}
+		return cache.get(pincode, strategy, false, -1, 0, () -> restaurantService.listByPinCodeSorted(pincode, strategy));
 	}
 
 	public List<Restaurant> listRestorantByPincodeSortedByRating(String pincode){
@@ -58,8 +83,170 @@ public class RestaurantManager {
 	public List<Restaurant> listRestorantByPincodeSortedByPrice(String pinCode){
 		return listRestorantByPincodeSorted(pinCode,new SortByPriceStrategy());
 	}
+	public List<Restaurant> nearestOpenRestaurants(double latitude, double longitude, double radiusKm, int limit){
+		return restaurantService.nearestOpenSortedByRating(latitude, longitude, radiusKm, limit);
+	}
+
+	public List<Restaurant> searchRestaurants(String query, String pincode, double minRating, int limit){
+		return restaurantService.search(query, pincode, minRating, limit);
+	}
+
+	public List<String> suggestSearchTerms(String prefix, int limit){
+		return restaurantService.suggest(prefix, limit);
+	}
+
+	// Highest rated first; page is 0-based
+	public List<Restaurant> topRatedByPincode(String pincode, int page, int pageSize){
+		return pageByPincode(pincode, new SortByRatingStrategy(), true, page, pageSize);
+	}
+
+	public List<Restaurant> cheapestByPincode(String pincode, int page, int pageSize){
+		return pageByPincode(pincode, new SortByPriceStrategy(), false, page, pageSize);
+	}
+
+	private List<Restaurant> pageByPincode(String pincode, RestaurantSortStrategy strategy, boolean descending, int page, int pageSize){
+		ListingCache cache = listingCache;
+		if (cache == null) {
+			return restaurantService.pageByPinCodeSorted(pincode, strategy, page * pageSize, pageSize, descending);
+		}
+		return cache.get(pincode, strategy, descending, page, pageSize,
+				() -> restaurantService.pageByPinCodeSorted(pincode, strategy, page * pageSize, pageSize, descending));
+	}
+
+	// Caches pincode listings and their first maxCachedPages pages; entries are dropped as
+	// soon as a restaurant listed under the pincode changes in a way that affects them
+	public synchronized ListingCache enableListingCache(int maxCachedPages) {
+		if (listingCache == null) {
+			ListingCache cache = new ListingCache(maxCachedPages);
+			restaurantService.addChangeListener(cache);
+			listingCache = cache;
+		}
+		return listingCache;
+	}
+
+	public ListingCache getListingCache() {
+		return listingCache;
+	}
+	// With holding enabled, a rating the fraud detector would hold is returned as is but
+	// neither stored nor counted; otherwise it is only flagged and goes in like any other
 	public Rating addRating(Rating rating){
-		return ratingService.addRating(rating);
+		RatingFraudDetector detector = fraudDetector;
+		if (detector != null && detector.inspect(rating).isHeld() && holdFlaggedRatings) {
+			return rating;
+		}
+		if (store != null) {
+			store.saveRating(rating);
+		}
+		ratingService.addRating(rating);
+		ratingStrategy.recordRating(rating);
+		applyAggregate(ratingService.getAggregate(rating.getRestaurantId()));
+		return rating;
+	}
+
+	// Rating bursts are applied on worker threads and restaurant ratings catch up
+	// asynchronously; call flushRatings() to wait for them
+	public void enableAsyncRatingIngestion(int workerThreads) {
+		if (ratingIngestor == null) {
+			ratingIngestor = new RatingIngestor(ratingService, rating -> ratingStrategy.recordRating(rating),
+					this::applyAggregate, workerThreads, 1024);
+		}
+	}
+
+	public void submitRatings(List<Rating> ratings) {
+		if (ratingIngestor == null) {
+			for (Rating rating : ratings) {
+				addRating(rating);
+			}
+			return;
+		}
+		ratings = withoutHeld(ratings);
+		if (store != null) {
+			for (Rating rating : ratings) {
+				store.saveRating(rating);
+			}
+		}
+		ratingIngestor.submit(ratings);
+	}
+
+	// Loads everything the store holds into the services, then writes every later change
+	// through to it. Rating scores are not stored; they are rebuilt from the ratings.
+	public void enablePersistence(RestaurantStore store) {
+		store.forEachCustomer(userService::add);
+		store.forEachRestaurant(restaurantService::add);
+		List<Rating> ratings = new ArrayList<>();
+		store.forEachRating(rating -> {
+			ratings.add(rating);
+			ratingStrategy.recordRating(rating);
+		});
+		for (int restaurantId : ratingService.addRatings(ratings)) {
+			applyAggregate(ratingService.getAggregate(restaurantId));
+		}
+		store.scheduleMaintenance(1, TimeUnit.MINUTES, 0.5);
+		this.store = store;
+	}
+
+	// Ratings are inspected on the submitting thread, before they are stored or queued.
+	// Ratings restored by enablePersistence() were accepted earlier and are not inspected.
+	// Suspicious ratings are only flagged: counted, and listed for review by
+	// getFraudDetector().getRecentlyHeld().
+	public RatingFraudDetector enableFraudDetection(int expectedRatingsPerSecond) {
+		return enableFraudDetection(expectedRatingsPerSecond, false);
+	}
+
+	// holdFlagged keeps ratings the detector would hold out of the store and the aggregates.
+	// They are not persisted and only the latest few are kept for review, so a sketch sized
+	// below real traffic, which flags honest customers, loses their ratings for good.
+	public synchronized RatingFraudDetector enableFraudDetection(int expectedRatingsPerSecond, boolean holdFlagged) {
+		if (fraudDetector == null) {
+			fraudDetector = new RatingFraudDetector(userService::getRegisteredAt, expectedRatingsPerSecond);
+		}
+		holdFlaggedRatings = holdFlagged;
+		return fraudDetector;
+	}
+
+	public void setFraudDetector(RatingFraudDetector fraudDetector) {
+		this.fraudDetector = fraudDetector;
+	}
+
+	public RatingFraudDetector getFraudDetector() {
+		return fraudDetector;
+	}
+
+	public void flushRatings() {
+		if (ratingIngestor != null) {
+			ratingIngestor.flush();
+		}
+	}
+
+	private List<Rating> withoutHeld(List<Rating> ratings) {
+		RatingFraudDetector detector = fraudDetector;
+		if (detector == null) {
+			return ratings;
+		}
+		boolean hold = holdFlaggedRatings;
+		List<Rating> accepted = new ArrayList<>(ratings.size());
+		for (Rating rating : ratings) {
+			if (!detector.inspect(rating).isHeld() || !hold) {
+				accepted.add(rating);
+			}
+		}
+		return accepted;
+	}
+
+	private void persist(Restaurant restaurant) {
+		if (store != null) {
+			store.saveRestaurant(restaurant);
+		}
+	}
+
+	private void applyAggregate(RatingAggregate aggregate) {
+		if (restaurantService.get(aggregate.getRestaurantId()) != null) {
+			ratingStrategy.updateRating(aggregate);
+		}
+	}
+
+	public void setRatingStrategy(RestaturantRatingStategry ratingStrategy) {
+		this.ratingStrategy = ratingStrategy;
 	}
 
 	// Methods for testing and dependency access
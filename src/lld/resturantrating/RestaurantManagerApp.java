@@ -1,11 +1,45 @@
 package lld.resturantrating;
 
 import lld.resturantrating.customer.service.UserService;
+import lld.resturantrating.rateing.model.Rating;
 import lld.resturantrating.rateing.service.RatingService;
+import lld.resturantrating.restaurant.model.Restaurant;
 import lld.resturantrating.restaurant.service.RestaurantService;
 
+import java.util.Arrays;
+
 public class RestaurantManagerApp {
 	public static void main(String[] args) {
 		RestaurantManager restaurantManager=RestaurantManager.getRestaurantManager(new RestaurantService(),new RatingService(),new UserService());
+
+		restaurantManager.addRestaurant(restaurant(1, "Spice Route", "Biryani", 350, "560001", "560002"));
+		restaurantManager.addRestaurant(restaurant(2, "Dosa Corner", "Dosa", 120, "560001"));
+		restaurantManager.addRestaurant(restaurant(3, "Pizza Hub", "Pizza", 450, "560002"));
+
+		int[][] ratings = {{1, 5}, {1, 4}, {2, 3}, {2, 4}, {3, 2}, {1, 5}, {3, 4}};
+		for (int i = 0; i < ratings.length; i++) {
+			Rating rating = new Rating();
+			rating.setId(i + 1);
+			rating.setCustomerId(100 + i);
+			rating.setRestaurantId(ratings[i][0]);
+			rating.setRatingNumber(ratings[i][1]);
+			restaurantManager.addRating(rating);
+		}
+
+		System.out.println("Aggregate for restaurant 1: " + restaurantManager.getRatingService().getAggregate(1));
+		System.out.println("560001 by rating: " + restaurantManager.listRestorantByPincodeSortedByRating("560001"));
+		System.out.println("560002 by price: " + restaurantManager.listRestorantByPincodeSortedByPrice("560002"));
+		System.out.println("Top rated in 560001: " + restaurantManager.topRatedByPincode("560001", 0, 1));
+		System.out.println("Search 'dos' in 560001: " + restaurantManager.searchRestaurants("dos", "560001", 0, 10));
+	}
+
+	private static Restaurant restaurant(int id, String name, String food, int price, String... pinCodes) {
+		Restaurant restaurant = new Restaurant();
+		restaurant.setId(id);
+		restaurant.setName(name);
+		restaurant.setFood(food);
+		restaurant.setPrice(price);
+		restaurant.setServiceablePinCode(Arrays.asList(pinCodes));
+		return restaurant;
 	}
 }
@@ -0,0 +1,73 @@
+package lld.resturantrating;
+
+import lld.resturantrating.rateing.model.Rating;
+import lld.resturantrating.rateing.service.RatingService;
+import lld.resturantrating.restaurant.model.Restaurant;
+import lld.resturantrating.restaurant.service.AverageRatingStrategy;
+import lld.resturantrating.restaurant.service.RestaturantRatingStategry;
+import lld.resturantrating.restaurant.service.RestaurantService;
+
+import java.util.List;
+
+// One partition of the sharded manager: its own restaurant indexes, rating store and
+// rating strategy, so cities on different shards never share a map or a lock
+public class RestaurantShard {
+    private static final int APPLY_STRIPES = 64;
+
+    private final int id;
+    private final RestaurantService restaurantService;
+    private final RatingService ratingService;
+    private final RestaturantRatingStategry ratingStrategy;
+    // Client threads rate concurrently, so a restaurant's aggregate is read and applied under
+    // its stripe: whichever apply runs last reads the newest aggregate, and an older copy can
+    // never overwrite the ranked score
+    private final Object[] applyLocks = new Object[APPLY_STRIPES];
+
+    public RestaurantShard(int id) {
+        this.id = id;
+        this.restaurantService = new RestaurantService();
+        this.ratingService = new RatingService();
+        this.ratingStrategy = new AverageRatingStrategy(restaurantService);
+        for (int i = 0; i < APPLY_STRIPES; i++) {
+            applyLocks[i] = new Object();
+        }
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public RestaurantService getRestaurantService() {
+        return restaurantService;
+    }
+
+    public RatingService getRatingService() {
+        return ratingService;
+    }
+
+    public void addRating(Rating rating) {
+        ratingService.addRating(rating);
+        ratingStrategy.recordRating(rating);
+        applyAggregate(rating.getRestaurantId());
+    }
+
+    public void addRatings(List<Rating> ratings) {
+        int[] touched = ratingService.addRatings(ratings);
+        for (Rating rating : ratings) {
+            ratingStrategy.recordRating(rating);
+        }
+        for (int restaurantId : touched) {
+            applyAggregate(restaurantId);
+        }
+    }
+
+    private void applyAggregate(int restaurantId) {
+        Restaurant restaurant = restaurantService.get(restaurantId);
+        if (restaurant == null) {
+            return;
+        }
+        synchronized (applyLocks[restaurantId & (APPLY_STRIPES - 1)]) {
+            ratingStrategy.updateRating(ratingService.getAggregate(restaurantId));
+        }
+    }
+}
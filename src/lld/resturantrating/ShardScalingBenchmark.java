@@ -0,0 +1,116 @@
+package lld.resturantrating;
+
+import lld.resturantrating.rateing.model.Rating;
+import lld.resturantrating.restaurant.model.Restaurant;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Mixed traffic (ratings, pincode listings, catalogue-wide searches) from several threads
+// against ShardedRestaurantManager at increasing shard counts, plus the latency of a
+// cross-shard search on its own. 200k restaurants over 100 cities of 100 pincodes each.
+public class ShardScalingBenchmark {
+    private static final int CITIES = 100;
+    private static final int PIN_CODES_PER_CITY = 100;
+    private static final int RESTAURANTS = 200_000;
+    private static final int THREADS = 8;
+    private static final long RUN_MILLIS = 3_000;
+    private static final int[] SHARD_COUNTS = {1, 2, 4, 8, 16};
+    private static final String[] FOODS = {"Biryani", "Dosa", "Pizza", "Burger", "Paneer Tikka", "Momos", "Thali", "Noodles"};
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("CPUs: " + Runtime.getRuntime().availableProcessors() + ", client threads: " + THREADS);
+        System.out.println("shards   mixed ops/s   ratings/s   listings/s   searches/s   cross-shard search (us)");
+        for (int shardCount : SHARD_COUNTS) {
+            try (ShardedRestaurantManager manager = new ShardedRestaurantManager(shardCount, 3)) {
+                load(manager, new Random(47));
+                run(manager, shardCount);
+            }
+        }
+    }
+
+    private static void run(ShardedRestaurantManager manager, int shardCount) throws InterruptedException {
+        LongAdder ratings = new LongAdder();
+        LongAdder listings = new LongAdder();
+        LongAdder searches = new LongAdder();
+        AtomicBoolean stop = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int seed = t;
+            Thread thread = new Thread(() -> {
+                Random random = new Random(seed);
+                int ratingId = seed * 100_000_000;
+                while (!stop.get()) {
+                    int operation = random.nextInt(100);
+                    if (operation < 70) {
+                        Rating rating = new Rating();
+                        rating.setId(ratingId++);
+                        rating.setRestaurantId(random.nextInt(RESTAURANTS));
+                        rating.setRatingNumber(1 + random.nextInt(5));
+                        manager.addRating(rating);
+                        ratings.increment();
+                    } else if (operation < 98) {
+                        manager.topRatedByPincode(pinCode(random.nextInt(CITIES), random.nextInt(PIN_CODES_PER_CITY)), 0, 20);
+                        listings.increment();
+                    } else {
+                        manager.searchRestaurants(FOODS[random.nextInt(FOODS.length)].substring(0, 3), null, 3.5, 20);
+                        searches.increment();
+                    }
+                }
+                done.countDown();
+            });
+            thread.start();
+        }
+        Thread.sleep(RUN_MILLIS);
+        stop.set(true);
+        done.await();
+
+        Random random = new Random(1);
+        int queries = 2_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            manager.searchRestaurants(FOODS[random.nextInt(FOODS.length)].substring(0, 3), null, 3.5, 20);
+        }
+        double searchMicros = (System.nanoTime() - start) / 1000.0 / queries;
+        double seconds = RUN_MILLIS / 1000.0;
+        long total = ratings.sum() + listings.sum() + searches.sum();
+        System.out.println(String.format("%6d   %11.0f   %9.0f   %10.0f   %10.0f   %23.1f", shardCount, total / seconds,
+                ratings.sum() / seconds, listings.sum() / seconds, searches.sum() / seconds, searchMicros));
+    }
+
+    private static void load(ShardedRestaurantManager manager, Random random) {
+        for (int id = 0; id < RESTAURANTS; id++) {
+            int city = random.nextInt(CITIES);
+            int first = random.nextInt(PIN_CODES_PER_CITY);
+            List<String> pinCodes = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(3); i++) {
+                pinCodes.add(pinCode(city, (first + i) % PIN_CODES_PER_CITY));
+            }
+            Restaurant restaurant = new Restaurant();
+            restaurant.setId(id);
+            restaurant.setName("Restaurant " + id);
+            restaurant.setFood(FOODS[random.nextInt(FOODS.length)]);
+            restaurant.setPrice(100 + random.nextInt(900));
+            restaurant.setServiceablePinCode(pinCodes);
+            manager.addRestaurant(restaurant);
+        }
+        List<Rating> ratings = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            Rating rating = new Rating();
+            rating.setId(-1 - i);
+            rating.setRestaurantId(random.nextInt(RESTAURANTS));
+            rating.setRatingNumber(1 + random.nextInt(5));
+            ratings.add(rating);
+        }
+        manager.addRatings(ratings);
+    }
+
+    // City c gets pincodes (100 + c) * 1000 + n, so the first three digits are the city
+    private static String pinCode(int city, int n) {
+        return String.valueOf((100 + city) * 1000 + n);
+    }
+}
@@ -0,0 +1,210 @@
+package lld.resturantrating;
+
+import lld.resturantrating.customer.model.Customer;
+import lld.resturantrating.customer.service.UserService;
+import lld.resturantrating.rateing.model.Rating;
+import lld.resturantrating.restaurant.model.Restaurant;
+import lld.resturantrating.restaurant.service.GeoGridIndex;
+import lld.resturantrating.restaurant.service.SortByPriceStrategy;
+import lld.resturantrating.restaurant.service.SortByRatingStrategy;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+// RestaurantManager split into shards by city, taken as the leading digits of a pincode
+// (the first three digits of an Indian pincode name the sorting district). Pincode-scoped
+// calls and ratings go to one shard; catalogue-wide queries run on every shard in parallel
+// and their per-shard top results are merged.
+// A restaurant lives on the shard of its city, so all its serviceable pincodes must share
+// the city prefix, and it can't be moved to another city: its ratings live in its shard's
+// rating store and would not follow it.
+public class ShardedRestaurantManager implements AutoCloseable {
+    private static final Comparator<Restaurant> BEST_RATED_FIRST =
+            new SortByRatingStrategy().getComparator().reversed().thenComparingInt(Restaurant::getId);
+
+    private final RestaurantShard[] shards;
+    private final int cityPrefixLength;
+    private final Map<Integer, RestaurantShard> shardByRestaurant = new ConcurrentHashMap<>();
+    private final Map<Integer, String> cityByRestaurant = new ConcurrentHashMap<>();
+    private final UserService userService = new UserService();
+    private final ExecutorService fanOut;
+
+    public ShardedRestaurantManager(int shardCount, int cityPrefixLength) {
+        this.shards = new RestaurantShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new RestaurantShard(i);
+        }
+        this.cityPrefixLength = cityPrefixLength;
+        this.fanOut = Executors.newFixedThreadPool(Math.max(1, shardCount - 1), runnable -> {
+            Thread thread = new Thread(runnable, "restaurant-shard-query");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public RestaurantShard shardForPincode(String pincode) {
+        return shards[Math.floorMod(cityOf(pincode).hashCode(), shards.length)];
+    }
+
+    private String cityOf(String pincode) {
+        return pincode.length() <= cityPrefixLength ? pincode : pincode.substring(0, cityPrefixLength);
+    }
+
+    public Restaurant addRestaurant(Restaurant restaurant) {
+        String city = homeCity(restaurant);
+        String previousCity = cityByRestaurant.putIfAbsent(restaurant.getId(), city);
+        if (previousCity != null && !previousCity.equals(city)) {
+            throw new IllegalArgumentException("Restaurant " + restaurant.getId() + " belongs to city " + previousCity
+                    + " and can't move to " + city);
+        }
+        RestaurantShard shard = shardForPincode(city);
+        shardByRestaurant.put(restaurant.getId(), shard);
+        return shard.getRestaurantService().add(restaurant);
+    }
+
+    public Restaurant updateRestaurant(Restaurant restaurant) {
+        return addRestaurant(restaurant);
+    }
+
+    public Customer addCustomer(Customer customer) {
+        synchronized (userService) {
+            return userService.add(customer);
+        }
+    }
+
+    public Rating addRating(Rating rating) {
+        shardOf(rating.getRestaurantId()).addRating(rating);
+        return rating;
+    }
+
+    // A burst is split by shard and each part applied as one batch
+    public void addRatings(List<Rating> ratings) {
+        Map<RestaurantShard, List<Rating>> byShard = new HashMap<>();
+        for (Rating rating : ratings) {
+            byShard.computeIfAbsent(shardOf(rating.getRestaurantId()), shard -> new ArrayList<>()).add(rating);
+        }
+        for (Map.Entry<RestaurantShard, List<Rating>> entry : byShard.entrySet()) {
+            entry.getKey().addRatings(entry.getValue());
+        }
+    }
+
+    public Restaurant getRestaurant(int id) {
+        RestaurantShard shard = shardByRestaurant.get(id);
+        return shard == null ? null : shard.getRestaurantService().get(id);
+    }
+
+    public List<Restaurant> listRestorantByPincodeSortedByRating(String pincode) {
+        return shardForPincode(pincode).getRestaurantService().listByPinCodeSorted(pincode, new SortByRatingStrategy());
+    }
+
+    public List<Restaurant> listRestorantByPincodeSortedByPrice(String pincode) {
+        return shardForPincode(pincode).getRestaurantService().listByPinCodeSorted(pincode, new SortByPriceStrategy());
+    }
+
+    public List<Restaurant> topRatedByPincode(String pincode, int page, int pageSize) {
+        return shardForPincode(pincode).getRestaurantService()
+                .pageByPinCodeSorted(pincode, new SortByRatingStrategy(), page * pageSize, pageSize, true);
+    }
+
+    public List<Restaurant> cheapestByPincode(String pincode, int page, int pageSize) {
+        return shardForPincode(pincode).getRestaurantService()
+                .pageByPinCodeSorted(pincode, new SortByPriceStrategy(), page * pageSize, pageSize, false);
+    }
+
+    // With a pincode this is a single-shard search; without one every shard returns its
+    // best `limit` and those are merged
+    public List<Restaurant> searchRestaurants(String query, String pincode, double minRating, int limit) {
+        if (pincode != null) {
+            return shardForPincode(pincode).getRestaurantService().search(query, pincode, minRating, limit);
+        }
+        List<Restaurant> merged = new ArrayList<>();
+        for (List<Restaurant> shardResults : onAllShards(shard -> shard.getRestaurantService().search(query, null, minRating, limit))) {
+            merged.addAll(shardResults);
+        }
+        merged.sort(BEST_RATED_FIRST);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    // A radius can cross city borders, so every shard answers and the nearest `limit`
+    // across all of them are kept, then ordered by rating like the single-shard query
+    public List<Restaurant> nearestOpenRestaurants(double latitude, double longitude, double radiusKm, int limit) {
+        List<Restaurant> merged = new ArrayList<>();
+        for (List<Restaurant> shardResults : onAllShards(shard ->
+                shard.getRestaurantService().nearestOpenSortedByRating(latitude, longitude, radiusKm, limit))) {
+            merged.addAll(shardResults);
+        }
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        merged.sort(Comparator.comparingDouble(restaurant -> GeoGridIndex.distanceKm(latitude, longitude, cosLatitude,
+                restaurant.getLatitude(), restaurant.getLongitude())));
+        List<Restaurant> nearest = merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+        nearest.sort(new SortByRatingStrategy().getComparator().reversed());
+        return nearest;
+    }
+
+    public List<Restaurant> restaurantList() {
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (List<Restaurant> shardResults : onAllShards(shard -> shard.getRestaurantService().listAll())) {
+            restaurants.addAll(shardResults);
+        }
+        return restaurants;
+    }
+
+    @Override
+    public void close() {
+        fanOut.shutdown();
+    }
+
+    private <T> List<T> onAllShards(Function<RestaurantShard, T> query) {
+        if (shards.length == 1) {
+            return List.of(query.apply(shards[0]));
+        }
+        List<Future<T>> futures = new ArrayList<>(shards.length - 1);
+        for (int i = 1; i < shards.length; i++) {
+            RestaurantShard shard = shards[i];
+            futures.add(fanOut.submit(() -> query.apply(shard)));
+        }
+        // The calling thread takes the first shard instead of idling on the futures
+        List<T> results = new ArrayList<>(shards.length);
+        results.add(query.apply(shards[0]));
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during cross-shard query", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Cross-shard query failed", e.getCause());
+        }
+        return results;
+    }
+
+    private String homeCity(Restaurant restaurant) {
+        List<String> pinCodes = restaurant.getServiceablePinCode();
+        if (pinCodes == null || pinCodes.isEmpty()) {
+            throw new IllegalArgumentException("Restaurant " + restaurant.getId() + " has no serviceable pincode to shard by");
+        }
+        // Checked on the cities themselves, so whether a restaurant is accepted doesn't
+        // depend on which cities happen to hash to the same shard
+        String city = cityOf(pinCodes.get(0));
+        for (String pinCode : pinCodes) {
+            if (!cityOf(pinCode).equals(city)) {
+                throw new IllegalArgumentException("Restaurant " + restaurant.getId() + " serves pincodes in more than one city: " + pinCodes);
+            }
+        }
+        return city;
+    }
+
+    private RestaurantShard shardOf(int restaurantId) {
+        RestaurantShard shard = shardByRestaurant.get(restaurantId);
+        if (shard == null) {
+            throw new IllegalArgumentException("Unknown restaurant " + restaurantId);
+        }
+        return shard;
+    }
+}
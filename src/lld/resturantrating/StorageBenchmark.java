@@ -0,0 +1,126 @@
+package lld.resturantrating;
+
+import lld.resturantrating.customer.model.Customer;
+import lld.resturantrating.customer.model.Gender;
+import lld.resturantrating.customer.service.UserService;
+import lld.resturantrating.rateing.model.Rating;
+import lld.resturantrating.rateing.service.RatingService;
+import lld.resturantrating.restaurant.model.Restaurant;
+import lld.resturantrating.restaurant.service.RestaurantService;
+import lld.resturantrating.storage.RecordType;
+import lld.resturantrating.storage.RestaurantStore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+// Writes restaurants, customers and ratings to a RestaurantStore, reopens it the way a
+// restart would, restores a RestaurantManager from it, and compacts after a wave of
+// restaurant updates. Uses a temporary directory that is removed afterwards.
+public class StorageBenchmark {
+    private static final int RESTAURANTS = 100_000;
+    private static final int CUSTOMERS = 100_000;
+    private static final int RATINGS = 2_000_000;
+    private static final int UPDATE_ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("restaurant-store");
+        Random random = new Random(46);
+        try {
+            long start = System.nanoTime();
+            try (RestaurantStore store = RestaurantStore.open(directory)) {
+                for (int id = 0; id < RESTAURANTS; id++) {
+                    store.saveRestaurant(restaurant(id, random));
+                }
+                for (int id = 0; id < CUSTOMERS; id++) {
+                    store.saveCustomer(customer(id));
+                }
+                for (int id = 0; id < RATINGS; id++) {
+                    store.saveRating(rating(id, random));
+                }
+                // Every restaurant edited a few times, leaving superseded versions behind
+                for (int round = 0; round < UPDATE_ROUNDS; round++) {
+                    for (int id = 0; id < RESTAURANTS; id++) {
+                        Restaurant restaurant = restaurant(id, random);
+                        store.saveRestaurant(restaurant);
+                    }
+                }
+                store.flush();
+            }
+            long writeMillis = (System.nanoTime() - start) / 1_000_000;
+            long records = RESTAURANTS * (1L + UPDATE_ROUNDS) + CUSTOMERS + RATINGS;
+            System.out.println(String.format("Wrote %,d records in %d ms (%,.0f records/s incl. fsync)", records, writeMillis,
+                    records / (writeMillis / 1000.0)));
+
+            start = System.nanoTime();
+            RestaurantStore store = RestaurantStore.open(directory);
+            long openMillis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("Reopened (mmap + CRC-checked scan to rebuild the index): " + openMillis + " ms, "
+                    + store.count(RecordType.RESTAURANT) + " restaurants, " + store.count(RecordType.CUSTOMER) + " customers, "
+                    + store.count(RecordType.RATING) + " ratings");
+
+            start = System.nanoTime();
+            RestaurantManager manager = RestaurantManager.getRestaurantManager(new RestaurantService(), new RatingService(), new UserService());
+            manager.enablePersistence(store);
+            long restoreMillis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("Restored manager (decode live records, rebuild indexes and scores): " + restoreMillis + " ms");
+            Restaurant sample = manager.getRestaurantService().get(42);
+            System.out.println("Restaurant 42 after restore: " + sample.getName() + ", score " + sample.getRatingScore()
+                    + " from " + manager.getRatingService().getAggregate(42).getCount() + " ratings");
+
+            System.out.println(String.format("Before compaction: %.1f MB on disk, %.0f%% of sealed bytes garbage",
+                    store.diskBytes() / 1e6, store.garbageRatio() * 100));
+            start = System.nanoTime();
+            long reclaimed = store.compact();
+            long compactMillis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println(String.format("Compaction reclaimed %.1f MB in %d ms; %.1f MB on disk", reclaimed / 1e6,
+                    compactMillis, store.diskBytes() / 1e6));
+            store.close();
+
+            try (RestaurantStore reopened = RestaurantStore.open(directory)) {
+                Restaurant reloaded = reopened.loadRestaurant(42);
+                System.out.println("After compaction and reopen: " + reopened.count(RecordType.RESTAURANT) + " restaurants, "
+                        + reopened.count(RecordType.RATING) + " ratings, restaurant 42 = " + reloaded.getName()
+                        + " (matches live copy: " + reloaded.getName().equals(sample.getName()) + ")");
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static Restaurant restaurant(int id, Random random) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setName("Restaurant " + id + " v" + random.nextInt(1000));
+        restaurant.setFood("Food " + id % 50);
+        restaurant.setPrice(100 + random.nextInt(900));
+        restaurant.setLocation(12.9 + random.nextDouble() / 5, 77.5 + random.nextDouble() / 5);
+        restaurant.setServiceablePinCode(List.of(String.valueOf(560000 + id % 500), String.valueOf(560000 + (id + 1) % 500)));
+        return restaurant;
+    }
+
+    private static Customer customer(int id) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setName("Customer " + id);
+        customer.setGender(id % 2 == 0 ? Gender.F : Gender.M);
+        customer.setMobileNo(String.valueOf(9_000_000_000L + id));
+        customer.setPinCode(String.valueOf(560000 + id % 500));
+        return customer;
+    }
+
+    private static Rating rating(int id, Random random) {
+        Rating rating = new Rating();
+        rating.setId(id);
+        rating.setCustomerId(random.nextInt(CUSTOMERS));
+        rating.setRestaurantId(random.nextInt(RESTAURANTS));
+        rating.setRatingNumber(1 + random.nextInt(5));
+        return rating;
+    }
+}
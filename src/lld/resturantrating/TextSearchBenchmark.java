@@ -0,0 +1,133 @@
+package lld.resturantrating;
+
+import lld.resturantrating.restaurant.model.Restaurant;
+import lld.resturantrating.restaurant.service.RestaurantService;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+// Name/food search latency over a million restaurants for the query shapes the search box
+// produces: a partly typed word inside a pincode, whole words with a rating floor, and a
+// bare prefix across the whole catalogue. Results are first checked against a scan.
+public class TextSearchBenchmark {
+    private static final int RESTAURANTS = 1_000_000;
+    private static final int PIN_CODES = 20_000;
+    private static final int QUERIES = 20_000;
+    private static final String[] ADJECTIVES = {"Spice", "Royal", "Golden", "Green", "Urban", "Little", "Grand", "Coastal",
+            "Tandoori", "Madras", "Punjabi", "Bombay", "Saffron", "Silver", "Happy", "Hungry", "Lucky", "Desi", "Classic", "Fresh"};
+    private static final String[] NOUNS = {"Kitchen", "Route", "House", "Corner", "Cafe", "Dhaba", "Bistro", "Grill", "Express",
+            "Point", "Junction", "Garden", "Palace", "Bowl", "Table", "Oven", "Street", "Hub", "Treat", "Darbar"};
+    private static final String[] FOODS = {"Biryani", "Dosa", "Idli", "Pizza", "Burger", "Paneer Tikka", "Butter Chicken", "Momos",
+            "Noodles", "Fried Rice", "Shawarma", "Kebab", "Thali", "Chaat", "Pav Bhaji", "Vada Pav", "Sushi", "Pasta", "Sandwich",
+            "Falafel", "Tacos", "Ramen", "Pho", "Kulfi", "Ice Cream", "Cake", "Brownie", "Waffles", "Pancakes", "Bagel",
+            "Paratha", "Chole Bhature", "Rajma Chawal", "Fish Curry", "Appam", "Puttu", "Pongal", "Upma", "Poha", "Samosa"};
+
+    private interface Query {
+        List<Restaurant> run(RestaurantService restaurantService, Random random);
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(43);
+        RestaurantService restaurantService = new RestaurantService();
+        List<Restaurant> all = new ArrayList<>(RESTAURANTS);
+        for (int id = 0; id < RESTAURANTS; id++) {
+            Restaurant restaurant = new Restaurant();
+            restaurant.setId(id);
+            restaurant.setName(pick(ADJECTIVES, random) + " " + pick(NOUNS, random));
+            restaurant.setFood(random.nextBoolean() ? pick(FOODS, random) : pick(FOODS, random) + ", " + pick(FOODS, random));
+            restaurant.setPrice(100 + random.nextInt(900));
+            restaurant.setAvarageRating(1 + random.nextInt(5));
+            int first = random.nextInt(PIN_CODES);
+            List<String> pinCodes = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(3); i++) {
+                pinCodes.add(String.valueOf(400000 + (first + i) % PIN_CODES));
+            }
+            restaurant.setServiceablePinCode(pinCodes);
+            restaurantService.add(restaurant);
+            all.add(restaurant);
+        }
+
+        Query typingInPinCode = (service, r) -> service.search(prefixOf(pick(FOODS, r), r), pinCode(r), 0, 20);
+        Query wordsWithRatingFloor = (service, r) -> service.search(pick(ADJECTIVES, r) + " " + pick(FOODS, r), null, 4, 20);
+        Query bareShortPrefix = (service, r) -> service.search(pick(FOODS, r).substring(0, 2), null, 0, 20);
+
+        // Results must equal a scan, including after ratings move restaurants around
+        String[][] checks = {{"Royal pan", "400100", "0"}, {"golden biryani", null, "4"}, {"pa", null, "0"}, {"do", "400200", "3"}};
+        for (int round = 0; round < 2; round++) {
+            for (String[] check : checks) {
+                int minRating = Integer.parseInt(check[2]);
+                List<Restaurant> indexed = restaurantService.search(check[0], check[1], minRating, 20);
+                List<Restaurant> scanned = scan(all, check[0], check[1], minRating, 20);
+                System.out.println("'" + check[0] + "' pincode=" + check[1] + " rating>=" + minRating + ": "
+                        + indexed.size() + " results, same as scan=" + indexed.equals(scanned));
+            }
+            for (int i = 0; i < 100_000; i++) {
+                restaurantService.updateRating(random.nextInt(RESTAURANTS), 1 + random.nextInt(400) / 100.0);
+            }
+        }
+        System.out.println("Suggestions for 'pa': " + restaurantService.suggest("pa", 5));
+
+        time("prefix in pincode ('pan' @ pincode)", typingInPinCode, restaurantService, random);
+        time("words + rating >= 4 ('royal biryani')", wordsWithRatingFloor, restaurantService, random);
+        time("2-letter prefix, whole catalogue", bareShortPrefix, restaurantService, random);
+
+        long start = System.nanoTime();
+        int found = 0;
+        for (Restaurant restaurant : all) {
+            if (restaurant.getServiceablePinCode().contains("400100")
+                    && restaurant.getFood().toLowerCase(Locale.ROOT).contains("pan")) {
+                found++;
+            }
+        }
+        System.out.println(String.format("Linear scan for comparison: %.1f us (%d results)", (System.nanoTime() - start) / 1000.0, found));
+    }
+
+    private static void time(String label, Query query, RestaurantService restaurantService, Random random) {
+        int queries = QUERIES;
+        for (int i = 0; i < queries / 5; i++) {
+            query.run(restaurantService, random);
+        }
+        long results = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            results += query.run(restaurantService, random).size();
+        }
+        long nanos = (System.nanoTime() - start) / queries;
+        System.out.println(String.format("%-40s %9.1f us/query, %.1f results/query", label, nanos / 1000.0, results / (double) queries));
+    }
+
+    private static List<Restaurant> scan(List<Restaurant> all, String query, String pinCode, int minRating, int limit) {
+        String[] words = query.toLowerCase(Locale.ROOT).split(" ");
+        List<Restaurant> matches = new ArrayList<>();
+        for (Restaurant restaurant : all) {
+            if ((pinCode != null && !restaurant.getServiceablePinCode().contains(pinCode)) || restaurant.getRatingScore() < minRating) {
+                continue;
+            }
+            List<String> terms = List.of((restaurant.getName() + " " + restaurant.getFood()).toLowerCase(Locale.ROOT).split("[^a-z0-9]+"));
+            boolean match = terms.stream().anyMatch(term -> term.startsWith(words[words.length - 1]));
+            for (int i = 0; i < words.length - 1; i++) {
+                match &= terms.contains(words[i]);
+            }
+            if (match) {
+                matches.add(restaurant);
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Restaurant::getRatingScore).reversed().thenComparingInt(Restaurant::getId));
+        return matches.subList(0, Math.min(limit, matches.size()));
+    }
+
+    private static String prefixOf(String word, Random random) {
+        return word.substring(0, Math.min(word.length(), 2 + random.nextInt(3)));
+    }
+
+    private static String pinCode(Random random) {
+        return String.valueOf(400000 + random.nextInt(PIN_CODES));
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,71 @@
+package lld.resturantrating;
+
+import lld.resturantrating.rateing.model.Rating;
+import lld.resturantrating.restaurant.service.RestaurantService;
+import lld.resturantrating.restaurant.service.TimeDecayedRatingStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Feeds random rating histories, including late-arriving ratings, one at a time through
+// TimeDecayedRatingStrategy and compares the running score with a full recomputation
+// after every rating.
+public class TimeDecayEquivalenceCheck {
+    private static final long HALF_LIFE_MILLIS = 30L * 24 * 60 * 60 * 1000;
+    private static final int RESTAURANTS = 2_000;
+    private static final int RATINGS_PER_RESTAURANT = 300;
+    private static final double TOLERANCE = 1e-9;
+
+    public static void main(String[] args) {
+        Random random = new Random(44);
+        TimeDecayedRatingStrategy strategy = new TimeDecayedRatingStrategy(new RestaurantService(), HALF_LIFE_MILLIS);
+        double lambdaPerMilli = Math.log(2) / HALF_LIFE_MILLIS;
+        double maxError = 0;
+        long checks = 0;
+        for (int restaurantId = 0; restaurantId < RESTAURANTS; restaurantId++) {
+            List<Rating> history = new ArrayList<>();
+            long clock = 1_700_000_000_000L;
+            for (int i = 0; i < RATINGS_PER_RESTAURANT; i++) {
+                // Gaps from minutes to a few months; one in ten arrives up to a week late
+                clock += (long) (random.nextDouble() * random.nextDouble() * 90L * 24 * 60 * 60 * 1000);
+                long timestamp = random.nextInt(10) == 0 ? clock - random.nextInt(7 * 24 * 60 * 60 * 1000) : clock;
+                Rating rating = new Rating();
+                rating.setRestaurantId(restaurantId);
+                rating.setRatingNumber(1 + random.nextInt(5));
+                rating.setTimestamp(timestamp);
+                history.add(rating);
+
+                strategy.recordRating(rating);
+                double incremental = strategy.getScore(restaurantId);
+                double recomputed = TimeDecayedRatingStrategy.recompute(history, lambdaPerMilli).getScore();
+                maxError = Math.max(maxError, Math.abs(incremental - recomputed));
+                checks++;
+            }
+        }
+        System.out.println("Compared " + checks + " running scores with full recomputation, max abs error " + maxError);
+        System.out.println(maxError <= TOLERANCE ? "OK" : "MISMATCH (tolerance " + TOLERANCE + ")");
+
+        // Cost per rating: constant for the running sums, linear in history for recomputation
+        List<Rating> history = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            Rating rating = new Rating();
+            rating.setRestaurantId(-1);
+            rating.setRatingNumber(1 + random.nextInt(5));
+            rating.setTimestamp(1_700_000_000_000L + i * 60_000L);
+            history.add(rating);
+        }
+        long start = System.nanoTime();
+        for (Rating rating : history) {
+            strategy.recordRating(rating);
+        }
+        long incrementalNanos = (System.nanoTime() - start) / history.size();
+        start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            TimeDecayedRatingStrategy.recompute(history, lambdaPerMilli);
+        }
+        long recomputeNanos = (System.nanoTime() - start) / 100;
+        System.out.println("Per rating at 10k history: running sums " + incrementalNanos + " ns, full recomputation "
+                + recomputeNanos / 1000 + " us");
+    }
+}
@@ -0,0 +1,126 @@
+package lld.resturantrating.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Runs every suite at each catalogue size and writes the results as a CSV report; with
+// --compare, also lines them up against an earlier report.
+//
+//   java lld.resturantrating.benchmark.BaselineReport [--sizes 1000,10000,100000]
+//        [--out report.csv] [--compare baseline.csv] [--quick]
+//
+// baseline.csv in this package is the reference run; its header records the machine it
+// came from, and only runs on comparable machines should be compared with it.
+public class BaselineReport {
+    // A change is only called out when it is this large and beyond the runs' noise
+    private static final double SIGNIFICANT_CHANGE = 0.10;
+    private static final double NOISE_STD_DEVS = 3;
+
+    public static void main(String[] args) {
+        int[] sizes = {1_000, 10_000, 100_000};
+        Path out = Path.of("restaurant-rating-benchmarks.csv");
+        Path compare = null;
+        BenchmarkHarness harness = new BenchmarkHarness(3, 5, 500);
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--sizes":
+                    String[] parts = args[++i].split(",");
+                    sizes = new int[parts.length];
+                    for (int s = 0; s < parts.length; s++) {
+                        sizes[s] = Integer.parseInt(parts[s].trim());
+                    }
+                    break;
+                case "--out":
+                    out = Path.of(args[++i]);
+                    break;
+                case "--compare":
+                    compare = Path.of(args[++i]);
+                    break;
+                case "--quick":
+                    harness = new BenchmarkHarness(1, 3, 200);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (int size : sizes) {
+            Catalogue catalogue = new Catalogue(size);
+            // Listings first: the rating suite changes scores and so the rankings
+            for (BenchmarkResult result : RestaurantServiceBenchmarks.run(harness, catalogue)) {
+                System.out.println(result);
+                results.add(result);
+            }
+            for (BenchmarkResult result : RatingBenchmarks.run(harness, catalogue)) {
+                System.out.println(result);
+                results.add(result);
+            }
+        }
+        write(out, harness, results);
+        System.out.println("Report written to " + out.toAbsolutePath());
+        if (compare != null) {
+            compare(read(compare), results);
+        }
+    }
+
+    static void write(Path file, BenchmarkHarness harness, List<BenchmarkResult> results) {
+        List<String> lines = new ArrayList<>();
+        lines.add("# java " + System.getProperty("java.version") + ", " + System.getProperty("os.name") + " "
+                + System.getProperty("os.arch") + ", " + Runtime.getRuntime().availableProcessors() + " CPUs, "
+                + "max heap " + Runtime.getRuntime().maxMemory() / (1 << 20) + " MB");
+        lines.add("# " + harness.describe());
+        lines.add(BenchmarkResult.CSV_HEADER);
+        for (BenchmarkResult result : results) {
+            lines.add(result.toCsv());
+        }
+        try {
+            Files.write(file, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Map<String, BenchmarkResult> read(Path file) {
+        Map<String, BenchmarkResult> results = new LinkedHashMap<>();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isBlank() || line.startsWith("#") || line.equals(BenchmarkResult.CSV_HEADER)) {
+                    continue;
+                }
+                BenchmarkResult result = BenchmarkResult.fromCsv(line);
+                results.put(result.key(), result);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return results;
+    }
+
+    static void compare(Map<String, BenchmarkResult> baseline, List<BenchmarkResult> results) {
+        System.out.println();
+        System.out.println(String.format("%-60s %12s %12s %8s", "benchmark@catalogue", "baseline ns", "now ns", "change"));
+        for (BenchmarkResult result : results) {
+            BenchmarkResult before = baseline.get(result.key());
+            if (before == null) {
+                System.out.println(String.format("%-60s %12s %12.1f %8s", result.key(), "-", result.getMeanNanos(), "new"));
+                continue;
+            }
+            double change = result.getMeanNanos() / before.getMeanNanos() - 1;
+            double noise = NOISE_STD_DEVS * Math.hypot(before.getStdDevNanos(), result.getStdDevNanos());
+            String verdict = "";
+            if (Math.abs(change) >= SIGNIFICANT_CHANGE && Math.abs(result.getMeanNanos() - before.getMeanNanos()) > noise) {
+                verdict = change > 0 ? "  SLOWER" : "  faster";
+            }
+            System.out.println(String.format("%-60s %12.1f %12.1f %+7.1f%%%s", result.key(), before.getMeanNanos(),
+                    result.getMeanNanos(), 100 * change, verdict));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package lld.resturantrating.benchmark;
+
+// Minimal JMH-style runner: timed warmup iterations to get the code compiled, then timed
+// measurement iterations, each reporting the average time per call. Calls are made in
+// batches so the clock is read once per batch rather than once per call.
+public class BenchmarkHarness {
+    private static final int BATCH = 256;
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final Blackhole blackhole = new Blackhole();
+
+    public BenchmarkHarness(int warmupIterations, int measurementIterations, long iterationMillis) {
+        if (measurementIterations < 2 || iterationMillis <= 0) {
+            throw new IllegalArgumentException("Need at least two timed iterations of positive length");
+        }
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+    }
+
+    public interface Operation {
+        void run(Blackhole blackhole);
+    }
+
+    public BenchmarkResult measure(String suite, String benchmark, int catalogueSize, Operation operation) {
+        // Start from a clean heap so one benchmark's garbage isn't collected on the next one's clock
+        System.gc();
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(operation);
+        }
+        double[] nanosPerOp = new double[measurementIterations];
+        for (int i = 0; i < measurementIterations; i++) {
+            nanosPerOp[i] = iteration(operation);
+        }
+        double mean = 0;
+        for (double value : nanosPerOp) {
+            mean += value;
+        }
+        mean /= nanosPerOp.length;
+        double variance = 0;
+        for (double value : nanosPerOp) {
+            variance += (value - mean) * (value - mean);
+        }
+        double stdDev = Math.sqrt(variance / (nanosPerOp.length - 1));
+        return new BenchmarkResult(suite, benchmark, catalogueSize, mean, stdDev, measurementIterations);
+    }
+
+    public String describe() {
+        return "warmup " + warmupIterations + "x" + iterationNanos / 1_000_000 + "ms, measurement "
+                + measurementIterations + "x" + iterationNanos / 1_000_000 + "ms";
+    }
+
+    private double iteration(Operation operation) {
+        long operations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (int i = 0; i < BATCH; i++) {
+                operation.run(blackhole);
+            }
+            operations += BATCH;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+        blackhole.publish();
+        return (double) elapsed / operations;
+    }
+}
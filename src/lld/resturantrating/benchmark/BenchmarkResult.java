@@ -0,0 +1,71 @@
+package lld.resturantrating.benchmark;
+
+// Average time per operation of one benchmark at one catalogue size, over the measured
+// iterations. One line of a baseline report.
+public class BenchmarkResult {
+    static final String CSV_HEADER = "suite,benchmark,catalogue,mean_ns,stddev_ns,iterations";
+
+    private final String suite;
+    private final String benchmark;
+    private final int catalogueSize;
+    private final double meanNanos;
+    private final double stdDevNanos;
+    private final int iterations;
+
+    public BenchmarkResult(String suite, String benchmark, int catalogueSize, double meanNanos, double stdDevNanos, int iterations) {
+        this.suite = suite;
+        this.benchmark = benchmark;
+        this.catalogueSize = catalogueSize;
+        this.meanNanos = meanNanos;
+        this.stdDevNanos = stdDevNanos;
+        this.iterations = iterations;
+    }
+
+    public String getSuite() {
+        return suite;
+    }
+
+    public String getBenchmark() {
+        return benchmark;
+    }
+
+    public int getCatalogueSize() {
+        return catalogueSize;
+    }
+
+    public double getMeanNanos() {
+        return meanNanos;
+    }
+
+    public double getStdDevNanos() {
+        return stdDevNanos;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    // Identifies the same measurement across reports
+    public String key() {
+        return suite + "." + benchmark + "@" + catalogueSize;
+    }
+
+    public String toCsv() {
+        return suite + "," + benchmark + "," + catalogueSize + "," + String.format("%.1f", meanNanos) + ","
+                + String.format("%.1f", stdDevNanos) + "," + iterations;
+    }
+
+    public static BenchmarkResult fromCsv(String line) {
+        String[] parts = line.split(",");
+        if (parts.length != 6) {
+            throw new IllegalArgumentException("Malformed benchmark result: " + line);
+        }
+        return new BenchmarkResult(parts[0], parts[1], Integer.parseInt(parts[2]), Double.parseDouble(parts[3]),
+                Double.parseDouble(parts[4]), Integer.parseInt(parts[5]));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-22s %-32s %8d %12.1f ns/op +- %.1f", suite, benchmark, catalogueSize, meanNanos, stdDevNanos);
+    }
+}
@@ -0,0 +1,25 @@
+package lld.resturantrating.benchmark;
+
+// Sink for benchmark results, so the JIT can't drop a call whose result is unused. The
+// values are folded into a field that is published once per iteration, which costs far
+// less per call than a volatile write.
+public class Blackhole {
+    private long sink;
+    private volatile long published;
+
+    public void consume(Object value) {
+        sink += System.identityHashCode(value);
+    }
+
+    public void consume(long value) {
+        sink += value;
+    }
+
+    public void consume(double value) {
+        sink += Double.doubleToRawLongBits(value);
+    }
+
+    void publish() {
+        published = sink;
+    }
+}
@@ -0,0 +1,72 @@
+package lld.resturantrating.benchmark;
+
+import lld.resturantrating.rateing.model.Rating;
+import lld.resturantrating.rateing.service.RatingService;
+import lld.resturantrating.restaurant.model.Restaurant;
+import lld.resturantrating.restaurant.service.RestaurantService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic catalogue the suites run against. The number of pincodes grows with the
+// catalogue so each pincode lists about RESTAURANTS_PER_PIN_CODE restaurants at every
+// size; per-pincode work should then stay flat while catalogue-wide work grows.
+class Catalogue {
+    static final int RESTAURANTS_PER_PIN_CODE = 100;
+    static final int RATINGS_PER_RESTAURANT = 5;
+    private static final int PIN_CODES_PER_RESTAURANT = 2;
+
+    final int size;
+    final RestaurantService restaurantService;
+    final RatingService ratingService;
+    final String[] pinCodes;
+
+    Catalogue(int size) {
+        this.size = size;
+        Random random = new Random(50);
+        this.restaurantService = new RestaurantService();
+        this.ratingService = new RatingService();
+        int pinCodeCount = Math.max(1, size * PIN_CODES_PER_RESTAURANT / RESTAURANTS_PER_PIN_CODE);
+        this.pinCodes = new String[pinCodeCount];
+        for (int i = 0; i < pinCodeCount; i++) {
+            pinCodes[i] = String.valueOf(100000 + i);
+        }
+        List<Rating> ratings = new ArrayList<>(size * RATINGS_PER_RESTAURANT);
+        for (int id = 0; id < size; id++) {
+            Restaurant restaurant = new Restaurant();
+            restaurant.setId(id);
+            restaurant.setName("Restaurant " + id);
+            restaurant.setFood("Food " + id % 40);
+            restaurant.setPrice(100 + random.nextInt(900));
+            int first = random.nextInt(pinCodeCount);
+            restaurant.setServiceablePinCode(List.of(pinCodes[first], pinCodes[(first + 1) % pinCodeCount]));
+            restaurantService.add(restaurant);
+            for (int i = 0; i < RATINGS_PER_RESTAURANT; i++) {
+                ratings.add(rating(random, id));
+            }
+        }
+        for (int id : ratingService.addRatings(ratings)) {
+            restaurantService.updateRating(id, ratingService.getAggregate(id).getAverage());
+        }
+    }
+
+    // Pre-built ratings for random restaurants, to be cycled through by write benchmarks
+    Rating[] ratingPool(int count) {
+        Random random = new Random(51);
+        Rating[] pool = new Rating[count];
+        for (int i = 0; i < count; i++) {
+            pool[i] = rating(random, random.nextInt(size));
+        }
+        return pool;
+    }
+
+    static Rating rating(Random random, int restaurantId) {
+        Rating rating = new Rating();
+        rating.setCustomerId(random.nextInt(1_000_000));
+        rating.setRestaurantId(restaurantId);
+        rating.setRatingNumber(1 + random.nextInt(5));
+        rating.setTimestamp(1_700_000_000_000L + random.nextInt(86_400_000));
+        return rating;
+    }
+}
@@ -0,0 +1,89 @@
+package lld.resturantrating.benchmark;
+
+import lld.resturantrating.rateing.model.Rating;
+import lld.resturantrating.rateing.model.RatingAggregate;
+import lld.resturantrating.rateing.service.RatingService;
+import lld.resturantrating.restaurant.service.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// addRating along the path RestaurantManager takes (store the rating, let the strategy see
+// it, re-score the restaurant from its aggregate), then every rating strategy on its own:
+// the O(1) update from running totals, which re-ranks the restaurant as the score moves,
+// and a full recompute from a rating list.
+class RatingBenchmarks {
+    private static final String SUITE = "Rating";
+    private static final int POOL = 1 << 16;
+    private static final int HISTORIES = 64;
+    private static final int HISTORY_LENGTH = 100;
+    private static final long HALF_LIFE_MILLIS = 7L * 86_400_000L;
+
+    private RatingBenchmarks() {
+    }
+
+    static List<BenchmarkResult> run(BenchmarkHarness harness, Catalogue catalogue) {
+        RestaurantService restaurantService = catalogue.restaurantService;
+        RatingService ratingService = catalogue.ratingService;
+        Rating[] pool = catalogue.ratingPool(POOL);
+        List<BenchmarkResult> results = new ArrayList<>();
+
+        RestaturantRatingStategry managerDefault = new AverageRatingStrategy(restaurantService);
+        int[] cursor = new int[1];
+        results.add(harness.measure(SUITE, "addRating", catalogue.size, blackhole -> {
+            Rating rating = pool[cursor[0]++ & (POOL - 1)];
+            ratingService.addRating(rating);
+            managerDefault.recordRating(rating);
+            managerDefault.updateRating(ratingService.getAggregate(rating.getRestaurantId()));
+            blackhole.consume(rating);
+        }));
+
+        List<List<Rating>> histories = histories(catalogue);
+        for (RestaturantRatingStategry strategy : strategies(restaurantService)) {
+            String name = strategy.getClass().getSimpleName();
+            // Each strategy keeps its own running totals, so its scores really move
+            RatingAggregate[] aggregates = new RatingAggregate[catalogue.size];
+            int[] next = new int[1];
+            results.add(harness.measure(SUITE, name + ".update", catalogue.size, blackhole -> {
+                Rating rating = pool[next[0]++ & (POOL - 1)];
+                int restaurantId = rating.getRestaurantId();
+                RatingAggregate aggregate = aggregates[restaurantId];
+                if (aggregate == null) {
+                    aggregate = ratingService.getAggregate(restaurantId);
+                    aggregates[restaurantId] = aggregate;
+                }
+                aggregate.add(rating.getRatingNumber());
+                strategy.recordRating(rating);
+                strategy.updateRating(aggregate);
+                blackhole.consume(aggregate);
+            }));
+            results.add(harness.measure(SUITE, name + ".recompute" + HISTORY_LENGTH, catalogue.size, blackhole -> {
+                List<Rating> history = histories.get(next[0]++ & (HISTORIES - 1));
+                strategy.updateRating(history);
+                blackhole.consume(history);
+            }));
+        }
+        return results;
+    }
+
+    private static List<RestaturantRatingStategry> strategies(RestaurantService restaurantService) {
+        return List.of(new AverageRatingStrategy(restaurantService), new WeightedRatingStrategy(restaurantService),
+                new BayesianRatingStrategy(restaurantService), new TimeDecayedRatingStrategy(restaurantService, HALF_LIFE_MILLIS));
+    }
+
+    // Rating lists of HISTORY_LENGTH ratings for a few restaurants spread over the catalogue
+    private static List<List<Rating>> histories(Catalogue catalogue) {
+        Random random = new Random(53);
+        List<List<Rating>> histories = new ArrayList<>(HISTORIES);
+        for (int h = 0; h < HISTORIES; h++) {
+            int restaurantId = random.nextInt(catalogue.size);
+            List<Rating> history = new ArrayList<>(HISTORY_LENGTH);
+            for (int i = 0; i < HISTORY_LENGTH; i++) {
+                history.add(Catalogue.rating(random, restaurantId));
+            }
+            histories.add(history);
+        }
+        return histories;
+    }
+}
@@ -0,0 +1,50 @@
+package lld.resturantrating.benchmark;
+
+import lld.resturantrating.restaurant.service.RestaurantService;
+import lld.resturantrating.restaurant.service.SortByPriceStrategy;
+import lld.resturantrating.restaurant.service.SortByRatingStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+// Pincode listings, each call for the next pincode in a fixed shuffled order
+class RestaurantServiceBenchmarks {
+    private static final String SUITE = "RestaurantService";
+
+    private RestaurantServiceBenchmarks() {
+    }
+
+    static List<BenchmarkResult> run(BenchmarkHarness harness, Catalogue catalogue) {
+        RestaurantService service = catalogue.restaurantService;
+        PinCodeCycle pinCodes = new PinCodeCycle(catalogue.pinCodes);
+        SortByRatingStrategy byRating = new SortByRatingStrategy();
+        SortByPriceStrategy byPrice = new SortByPriceStrategy();
+        List<BenchmarkResult> results = new ArrayList<>();
+        results.add(harness.measure(SUITE, "listByPinCode", catalogue.size,
+                blackhole -> blackhole.consume(service.listByPinCode(pinCodes.next()))));
+        results.add(harness.measure(SUITE, "listByPinCodeSorted.rating", catalogue.size,
+                blackhole -> blackhole.consume(service.listByPinCodeSorted(pinCodes.next(), byRating))));
+        results.add(harness.measure(SUITE, "listByPinCodeSorted.price", catalogue.size,
+                blackhole -> blackhole.consume(service.listByPinCodeSorted(pinCodes.next(), byPrice))));
+        return results;
+    }
+
+    private static class PinCodeCycle {
+        private final String[] order;
+        private int next;
+
+        PinCodeCycle(String[] pinCodes) {
+            this.order = pinCodes.clone();
+            Collections.shuffle(Arrays.asList(order), new Random(52));
+        }
+
+        String next() {
+            String pinCode = order[next];
+            next = next + 1 == order.length ? 0 : next + 1;
+            return pinCode;
+        }
+    }
+}
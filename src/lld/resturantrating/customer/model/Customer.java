@@ -6,6 +6,8 @@ public class Customer {
     private Gender gender;
     private String mobileNo;
     private String pinCode;
+    // Epoch millis the account was created at
+    private long registeredAt = System.currentTimeMillis();
 
     public String getName() {
         return name;
@@ -39,6 +41,14 @@ public class Customer {
         this.pinCode = pinCode;
     }
 
+    public long getRegisteredAt() {
+        return registeredAt;
+    }
+
+    public void setRegisteredAt(long registeredAt) {
+        this.registeredAt = registeredAt;
+    }
+
     public int getId() {
         return id;
     }
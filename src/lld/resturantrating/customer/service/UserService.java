@@ -4,16 +4,31 @@ import lld.resturantrating.customer.model.Customer;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class UserService {
     Map<String, Customer> customerMap;
+    // Ratings refer to customers by id; looked up from rating ingestion threads
+    private final Map<Integer, Customer> customerById;
 
     public UserService() {
         this.customerMap = new HashMap<>();
+        this.customerById = new ConcurrentHashMap<>();
     }
 
     public Customer  add(Customer customer){
         customerMap.put(customer.getMobileNo(),customer);
+        customerById.put(customer.getId(), customer);
         return customer;
     }
+
+    public Customer get(int customerId) {
+        return customerById.get(customerId);
+    }
+
+    // Epoch millis the customer registered at, or -1 for an id nobody registered
+    public long getRegisteredAt(int customerId) {
+        Customer customer = customerById.get(customerId);
+        return customer == null ? -1L : customer.getRegisteredAt();
+    }
 }
@@ -0,0 +1,24 @@
+package lld.resturantrating.rateing.model;
+
+// Reasons a rating looks suspicious. The weights add up into a verdict's score; one strong
+// signal, or two weak ones together, is enough to hold a rating back.
+public enum FraudSignal {
+    // The customer rated more often than allowed within the window
+    BURST(2),
+    // The customer rated the same restaurant again and again within the window
+    REPEAT(2),
+    // The account was created only recently, or was never registered at all
+    NEW_ACCOUNT(1),
+    // The restaurant's recent ratings pile up on this star value far beyond its history
+    SKEWED_DISTRIBUTION(1);
+
+    private final int weight;
+
+    FraudSignal(int weight) {
+        this.weight = weight;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+}
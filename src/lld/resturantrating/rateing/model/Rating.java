@@ -6,6 +6,8 @@ public class Rating  {
     public int ratingNumber;
     public String descriptions;
     public int restaurantId;
+    // Epoch millis the rating was given at
+    private long timestamp = System.currentTimeMillis();
 
     public int getRestaurantId() {
         return restaurantId;
@@ -39,6 +41,14 @@ public class Rating  {
         this.ratingNumber = ratingNumber;
     }
 
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
     public String getDescriptions() {
         return descriptions;
     }
@@ -49,6 +59,6 @@ public class Rating  {
 
     @Override
     public String toString() {
-        return "Rating{" + "id=" + id + ", customerId='" + customerId + '\'' + ", ratingNumber=" + ratingNumber + ", descriptions='" + descriptions + '\'' + ", restaurantId=" + restaurantId + '}';
+        return "Rating{" + "id=" + id + ", customerId='" + customerId + '\'' + ", ratingNumber=" + ratingNumber + ", descriptions='" + descriptions + '\'' + ", restaurantId=" + restaurantId + ", timestamp=" + timestamp + '}';
     }
 }
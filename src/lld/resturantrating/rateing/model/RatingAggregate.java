@@ -0,0 +1,90 @@
+package lld.resturantrating.rateing.model;
+
+// Running totals for one restaurant's ratings. Every statistic the rating strategies
+// need is derived from these fields, so adding a rating is O(1) no matter how many
+// ratings the restaurant already has.
+public class RatingAggregate {
+    private final int restaurantId;
+    private long count;
+    private long sum;
+    private long sumOfSquares;
+    // Rating i (1-based, in arrival order) has weight i, matching WeightedRatingStrategy
+    private long weightedSum;
+    private long totalWeight;
+
+    public RatingAggregate(int restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public static RatingAggregate of(int restaurantId, Iterable<Rating> ratings) {
+        RatingAggregate aggregate = new RatingAggregate(restaurantId);
+        for (Rating rating : ratings) {
+            aggregate.add(rating.getRatingNumber());
+        }
+        return aggregate;
+    }
+
+    // Snapshot handed out to readers while the original keeps taking ratings
+    public RatingAggregate copy() {
+        RatingAggregate copy = new RatingAggregate(restaurantId);
+        copy.count = count;
+        copy.sum = sum;
+        copy.sumOfSquares = sumOfSquares;
+        copy.weightedSum = weightedSum;
+        copy.totalWeight = totalWeight;
+        return copy;
+    }
+
+    public void add(int ratingNumber) {
+        count++;
+        sum += ratingNumber;
+        sumOfSquares += (long) ratingNumber * ratingNumber;
+        weightedSum += count * ratingNumber;
+        totalWeight += count;
+    }
+
+    public int getRestaurantId() {
+        return restaurantId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getSumOfSquares() {
+        return sumOfSquares;
+    }
+
+    public long getWeightedSum() {
+        return weightedSum;
+    }
+
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    public double getAverage() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    public double getVariance() {
+        if (count == 0) {
+            return 0.0;
+        }
+        double mean = getAverage();
+        return Math.max(0.0, (double) sumOfSquares / count - mean * mean);
+    }
+
+    public double getWeightedAverage() {
+        return totalWeight == 0 ? 0.0 : (double) weightedSum / totalWeight;
+    }
+
+    @Override
+    public String toString() {
+        return "RatingAggregate{" + "restaurantId=" + restaurantId + ", count=" + count + ", average=" + getAverage() + ", weightedAverage=" + getWeightedAverage() + '}';
+    }
+}
@@ -0,0 +1,71 @@
+package lld.resturantrating.rateing.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// What the fraud detector made of one rating. There are only 16 signal combinations, so
+// every verdict is a shared constant and inspecting a rating allocates nothing.
+public final class RatingVerdict {
+    public static final int HOLD_SCORE = 2;
+
+    private static final FraudSignal[] SIGNALS = FraudSignal.values();
+    private static final RatingVerdict[] VERDICTS = new RatingVerdict[1 << SIGNALS.length];
+
+    static {
+        for (int mask = 0; mask < VERDICTS.length; mask++) {
+            VERDICTS[mask] = new RatingVerdict(mask);
+        }
+    }
+
+    public static final RatingVerdict CLEAN = VERDICTS[0];
+
+    private final int mask;
+    private final int score;
+
+    private RatingVerdict(int mask) {
+        this.mask = mask;
+        int total = 0;
+        for (FraudSignal signal : SIGNALS) {
+            if ((mask & (1 << signal.ordinal())) != 0) {
+                total += signal.getWeight();
+            }
+        }
+        this.score = total;
+    }
+
+    public static RatingVerdict of(int mask) {
+        return VERDICTS[mask];
+    }
+
+    public static int bit(FraudSignal signal) {
+        return 1 << signal.ordinal();
+    }
+
+    public boolean has(FraudSignal signal) {
+        return (mask & bit(signal)) != 0;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    // Suspicious enough to keep out of the restaurant's aggregate, if the caller holds ratings
+    public boolean isHeld() {
+        return score >= HOLD_SCORE;
+    }
+
+    public Set<FraudSignal> getSignals() {
+        Set<FraudSignal> signals = EnumSet.noneOf(FraudSignal.class);
+        for (FraudSignal signal : SIGNALS) {
+            if (has(signal)) {
+                signals.add(signal);
+            }
+        }
+        return signals;
+    }
+
+    @Override
+    public String toString() {
+        return "RatingVerdict{" + "signals=" + getSignals() + ", score=" + score + ", held=" + isHeld() + '}';
+    }
+}
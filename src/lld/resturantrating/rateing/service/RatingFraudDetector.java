@@ -0,0 +1,266 @@
+package lld.resturantrating.rateing.service;
+
+import lld.resturantrating.rateing.model.FraudSignal;
+import lld.resturantrating.rateing.model.Rating;
+import lld.resturantrating.rateing.model.RatingVerdict;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntToLongFunction;
+
+// Inspects ratings inline, before they reach the aggregates, and flags:
+//  - bursts: a customer rating more than maxRatingsPerCustomer times in a window, and
+//    repeats: the same customer rating one restaurant more than maxRatingsPerPair times.
+//    Both are counted in windowed count-min sketches, so memory stays fixed however many
+//    customers there are.
+//  - new accounts: registered less than newAccountMillis before the rating, or unknown.
+//  - skewed distributions: a restaurant's recent ratings (exponentially decayed, half-life
+//    skewHalfLifeMillis) sit far from its long-run star distribution, and this rating is
+//    on one of the over-represented stars. Only ratings without any signal enter the
+//    long-run distribution, so a campaign can't shift the baseline it is measured against.
+// Time is the rating's own timestamp, so replays and benchmarks behave like live traffic.
+// Customers and restaurants are spread over independently locked stripes; a rating takes
+// one customer stripe lock and then one restaurant stripe lock, never both at once.
+public class RatingFraudDetector {
+    private static final int STRIPES = 16;
+    // The pair window is the long one; two buckets keep its memory down at the price of a
+    // window that varies between half and all of pairWindowMillis
+    private static final int CUSTOMER_BUCKETS = 4;
+    private static final int PAIR_BUCKETS = 2;
+    private static final int STARS = 5;
+    // The distribution check needs this many recent (decayed) and long-run ratings first
+    private static final double MIN_RECENT_WEIGHT = 30;
+    private static final int MIN_BASELINE_COUNT = 30;
+    // Total variation distance between recent and long-run star shares, 0..1
+    private static final double SKEW_THRESHOLD = 0.3;
+    private static final int MAX_HELD_KEPT = 1_000;
+
+    private final IntToLongFunction registeredAt;
+    private final int maxRatingsPerCustomer;
+    private final int maxRatingsPerPair;
+    private final long newAccountMillis;
+    private final double lambdaPerMilli;
+    private final CustomerStripe[] customerStripes;
+    private final RestaurantStripe[] restaurantStripes;
+
+    private final LongAdder inspected = new LongAdder();
+    private final LongAdder held = new LongAdder();
+    private final Map<FraudSignal, LongAdder> signalCounts = new EnumMap<>(FraudSignal.class);
+    private final ArrayDeque<Rating> recentlyHeld = new ArrayDeque<>();
+
+    // Ten ratings a minute per customer, three per restaurant in five minutes, accounts
+    // younger than a day count as new, and a five minute half-life for the recent distribution
+    public RatingFraudDetector(IntToLongFunction registeredAt, int expectedRatingsPerSecond) {
+        this(registeredAt, expectedRatingsPerSecond, 60_000L, 10, 300_000L, 3, 86_400_000L, 300_000L);
+    }
+
+    // registeredAt maps a customer id to its registration time, or to a negative value for
+    // an unknown customer. The sketches are sized for expectedRatingsPerSecond: the pair
+    // sketch gets about one counter per rating in its window, the customer sketch, whose
+    // limit is far above one, a quarter of that. Sustained traffic well above the expected
+    // rate makes collisions, and so false bursts and repeats, more likely.
+    public RatingFraudDetector(IntToLongFunction registeredAt, int expectedRatingsPerSecond,
+                               long customerWindowMillis, int maxRatingsPerCustomer,
+                               long pairWindowMillis, int maxRatingsPerPair,
+                               long newAccountMillis, long skewHalfLifeMillis) {
+        if (expectedRatingsPerSecond <= 0) {
+            throw new IllegalArgumentException("Expected rating rate must be positive: " + expectedRatingsPerSecond);
+        }
+        this.registeredAt = registeredAt;
+        this.maxRatingsPerCustomer = maxRatingsPerCustomer;
+        this.maxRatingsPerPair = maxRatingsPerPair;
+        this.newAccountMillis = newAccountMillis;
+        this.lambdaPerMilli = Math.log(2) / skewHalfLifeMillis;
+        int customerWidth = stripeWidth((long) expectedRatingsPerSecond * customerWindowMillis / 1000 / 4);
+        int pairWidth = stripeWidth((long) expectedRatingsPerSecond * pairWindowMillis / 1000);
+        this.customerStripes = new CustomerStripe[STRIPES];
+        this.restaurantStripes = new RestaurantStripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            customerStripes[i] = new CustomerStripe(
+                    new WindowedCountMinSketch(customerWidth, customerWindowMillis, CUSTOMER_BUCKETS),
+                    new WindowedCountMinSketch(pairWidth, pairWindowMillis, PAIR_BUCKETS));
+            restaurantStripes[i] = new RestaurantStripe();
+        }
+        for (FraudSignal signal : FraudSignal.values()) {
+            signalCounts.put(signal, new LongAdder());
+        }
+    }
+
+    public RatingVerdict inspect(Rating rating) {
+        int customerId = rating.getCustomerId();
+        int restaurantId = rating.getRestaurantId();
+        long time = rating.getTimestamp();
+        int signals = 0;
+
+        CustomerStripe customers = customerStripes[stripeIndex(customerId)];
+        int customerCount;
+        int pairCount;
+        synchronized (customers) {
+            customerCount = customers.ratingsByCustomer.add(customerId, time);
+            pairCount = customers.ratingsByPair.add(((long) customerId << 32) | (restaurantId & 0xFFFFFFFFL), time);
+        }
+        if (customerCount > maxRatingsPerCustomer) {
+            signals |= RatingVerdict.bit(FraudSignal.BURST);
+        }
+        if (pairCount > maxRatingsPerPair) {
+            signals |= RatingVerdict.bit(FraudSignal.REPEAT);
+        }
+        long registered = registeredAt.applyAsLong(customerId);
+        if (registered < 0 || time - registered < newAccountMillis) {
+            signals |= RatingVerdict.bit(FraudSignal.NEW_ACCOUNT);
+        }
+
+        int star = rating.getRatingNumber() - 1;
+        if (star >= 0 && star < STARS) {
+            RestaurantStripe restaurants = restaurantStripes[stripeIndex(restaurantId)];
+            synchronized (restaurants) {
+                StarDistribution distribution = restaurants.distributions.computeIfAbsent(restaurantId, id -> new StarDistribution(time));
+                distribution.addRecent(star, time, lambdaPerMilli);
+                if (distribution.isSkewedTowards(star)) {
+                    signals |= RatingVerdict.bit(FraudSignal.SKEWED_DISTRIBUTION);
+                }
+                if (signals == 0) {
+                    distribution.baseline[star]++;
+                    distribution.baselineCount++;
+                }
+            }
+        }
+
+        RatingVerdict verdict = RatingVerdict.of(signals);
+        record(rating, verdict);
+        return verdict;
+    }
+
+    public long getInspectedCount() {
+        return inspected.sum();
+    }
+
+    public long getHeldCount() {
+        return held.sum();
+    }
+
+    public long getSignalCount(FraudSignal signal) {
+        return signalCounts.get(signal).sum();
+    }
+
+    // The latest ratings scored at or above the hold threshold, oldest first, for review.
+    // Whether they were actually kept out of the aggregates is up to the caller.
+    public List<Rating> getRecentlyHeld() {
+        synchronized (recentlyHeld) {
+            return new ArrayList<>(recentlyHeld);
+        }
+    }
+
+    // Fixed memory of the customer sketches; restaurant distributions add ~100 bytes each
+    public long getSketchMemoryBytes() {
+        long bytes = 0;
+        for (CustomerStripe stripe : customerStripes) {
+            bytes += stripe.ratingsByCustomer.memoryBytes() + stripe.ratingsByPair.memoryBytes();
+        }
+        return bytes;
+    }
+
+    private void record(Rating rating, RatingVerdict verdict) {
+        inspected.increment();
+        if (verdict == RatingVerdict.CLEAN) {
+            return;
+        }
+        for (FraudSignal signal : FraudSignal.values()) {
+            if (verdict.has(signal)) {
+                signalCounts.get(signal).increment();
+            }
+        }
+        if (verdict.isHeld()) {
+            held.increment();
+            synchronized (recentlyHeld) {
+                if (recentlyHeld.size() == MAX_HELD_KEPT) {
+                    recentlyHeld.removeFirst();
+                }
+                recentlyHeld.addLast(rating);
+            }
+        }
+    }
+
+    // Counters per sketch row in one stripe for the given number of ratings per window
+    private static int stripeWidth(long ratingsPerWindow) {
+        long perStripe = Math.max(64, ratingsPerWindow / STRIPES);
+        return (int) Math.min(1 << 24, Long.highestOneBit(perStripe - 1) << 1);
+    }
+
+    private static int stripeIndex(int id) {
+        int h = id * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "RatingFraudDetector{" + "inspected=" + getInspectedCount() + ", held=" + getHeldCount()
+                + ", burst=" + getSignalCount(FraudSignal.BURST) + ", repeat=" + getSignalCount(FraudSignal.REPEAT)
+                + ", newAccount=" + getSignalCount(FraudSignal.NEW_ACCOUNT)
+                + ", skewed=" + getSignalCount(FraudSignal.SKEWED_DISTRIBUTION) + '}';
+    }
+
+    private static class CustomerStripe {
+        final WindowedCountMinSketch ratingsByCustomer;
+        final WindowedCountMinSketch ratingsByPair;
+
+        CustomerStripe(WindowedCountMinSketch ratingsByCustomer, WindowedCountMinSketch ratingsByPair) {
+            this.ratingsByCustomer = ratingsByCustomer;
+            this.ratingsByPair = ratingsByPair;
+        }
+    }
+
+    private static class RestaurantStripe {
+        final Map<Integer, StarDistribution> distributions = new HashMap<>();
+    }
+
+    // Recent star counts decay continuously and are kept as of the newest rating, the same
+    // way TimeDecayedRatingStrategy keeps its sums; the baseline counts unflagged ratings
+    private static class StarDistribution {
+        final double[] recent = new double[STARS];
+        double recentWeight;
+        long recentAsOf;
+        final int[] baseline = new int[STARS];
+        int baselineCount;
+
+        StarDistribution(long time) {
+            this.recentAsOf = time;
+        }
+
+        void addRecent(int star, long time, double lambdaPerMilli) {
+            if (time > recentAsOf) {
+                double decay = Math.exp(-lambdaPerMilli * (time - recentAsOf));
+                for (int i = 0; i < STARS; i++) {
+                    recent[i] *= decay;
+                }
+                recentWeight *= decay;
+                recentAsOf = time;
+                recent[star] += 1;
+                recentWeight += 1;
+            } else {
+                double weight = Math.exp(-lambdaPerMilli * (recentAsOf - time));
+                recent[star] += weight;
+                recentWeight += weight;
+            }
+        }
+
+        boolean isSkewedTowards(int star) {
+            if (recentWeight < MIN_RECENT_WEIGHT || baselineCount < MIN_BASELINE_COUNT) {
+                return false;
+            }
+            if (recent[star] / recentWeight <= (double) baseline[star] / baselineCount) {
+                return false;
+            }
+            double distance = 0;
+            for (int i = 0; i < STARS; i++) {
+                distance += Math.abs(recent[i] / recentWeight - (double) baseline[i] / baselineCount);
+            }
+            return distance / 2 >= SKEW_THRESHOLD;
+        }
+    }
+}
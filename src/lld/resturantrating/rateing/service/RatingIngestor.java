@@ -0,0 +1,130 @@
+package lld.resturantrating.rateing.service;
+
+import lld.resturantrating.rateing.model.Rating;
+import lld.resturantrating.rateing.model.RatingAggregate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Takes rating bursts off the caller's thread. Worker threads apply each batch to the
+// striped RatingService; restaurants whose aggregates changed are marked dirty and the
+// listener (normally the restaurant rating strategy) is called once per dirty restaurant
+// with its latest aggregate. Listener calls never overlap, so the listener can update
+// structures that are not safe for concurrent writers, and a restaurant rated a thousand
+// times in a burst is re-ranked once rather than a thousand times.
+public class RatingIngestor {
+    private final RatingService ratingService;
+    private final Consumer<RatingAggregate> aggregateListener;
+    // Sees every rating, on the worker thread, before its restaurant is marked dirty
+    private final Consumer<Rating> ratingListener;
+    private final ThreadPoolExecutor workers;
+    private final Set<Integer> dirtyRestaurants = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock drainLock = new ReentrantLock();
+    // One party for the ingestor itself plus one per batch in flight; flush waits on it
+    private final Phaser inFlight = new Phaser(1);
+    // The ingestor's party may only arrive once per phase, so flushes take turns
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public RatingIngestor(RatingService ratingService, Consumer<RatingAggregate> aggregateListener,
+                          int workerThreads, int queueCapacity) {
+        this(ratingService, rating -> { }, aggregateListener, workerThreads, queueCapacity);
+    }
+
+    public RatingIngestor(RatingService ratingService, Consumer<Rating> ratingListener,
+                          Consumer<RatingAggregate> aggregateListener, int workerThreads, int queueCapacity) {
+        this.ratingService = ratingService;
+        this.ratingListener = ratingListener;
+        this.aggregateListener = aggregateListener;
+        // A full queue runs the batch on the submitting thread, which slows producers down
+        // instead of buffering without bound. CallerRunsPolicy would silently drop the batch
+        // once the pool is shut down, so that case is rejected instead.
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "rating-ingestor");
+                    thread.setDaemon(true);
+                    return thread;
+                }, (runnable, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("Rating ingestor is shut down");
+                    }
+                    runnable.run();
+                });
+    }
+
+    public void submit(List<Rating> ratings) {
+        if (ratings.isEmpty()) {
+            return;
+        }
+        if (workers.isShutdown()) {
+            throw new IllegalStateException("Rating ingestor is shut down");
+        }
+        inFlight.register();
+        try {
+            workers.execute(() -> {
+                try {
+                    int[] touched = ratingService.addRatings(ratings);
+                    for (Rating rating : ratings) {
+                        ratingListener.accept(rating);
+                    }
+                    for (int restaurantId : touched) {
+                        dirtyRestaurants.add(restaurantId);
+                    }
+                    drainIfIdle();
+                } finally {
+                    inFlight.arriveAndDeregister();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shut down between the check and the execute: the batch never ran
+            inFlight.arriveAndDeregister();
+            throw new IllegalStateException("Rating ingestor is shut down", e);
+        }
+    }
+
+    // Blocks until every batch submitted before the call is applied and its restaurants
+    // have been passed to the listener
+    public void flush() {
+        flushLock.lock();
+        try {
+            inFlight.arriveAndAwaitAdvance();
+            // A worker may have found the drain busy and left its ids to the drainer, which
+            // can still be running; wait for it and pick up anything left
+            drainLock.lock();
+            try {
+                drain();
+            } finally {
+                drainLock.unlock();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public void shutdown() {
+        flush();
+        workers.shutdown();
+    }
+
+    // Whoever holds the drain lock publishes everyone's dirty ids. A worker that finds it
+    // taken just leaves its ids behind; the re-check after unlocking covers ids added
+    // between the holder's last pass and its unlock.
+    private void drainIfIdle() {
+        while (!dirtyRestaurants.isEmpty() && drainLock.tryLock()) {
+            try {
+                drain();
+            } finally {
+                drainLock.unlock();
+            }
+        }
+    }
+
+    private void drain() {
+        for (Integer restaurantId : dirtyRestaurants) {
+            dirtyRestaurants.remove(restaurantId);
+            aggregateListener.accept(ratingService.getAggregate(restaurantId));
+        }
+    }
+}
@@ -1,28 +1,108 @@
 package lld.resturantrating.rateing.service;
 
 import lld.resturantrating.rateing.model.Rating;
+import lld.resturantrating.rateing.model.RatingAggregate;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class RatingService
 {
-    Map<Integer, List<Rating>> ratingMap;
-    
+    // Restaurants are spread over independently locked stripes, so writers for different
+    // restaurants don't queue behind one lock. Power of two so the stripe is a mask.
+    private static final int STRIPES = 64;
+
+    private final Stripe[] stripes;
+
     public RatingService() {
-        this.ratingMap = new HashMap<>();
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
     }
 
     public Rating addRating(Rating rating){
-        List<Rating> ratingList = ratingMap.getOrDefault(rating.getRestaurantId(), new ArrayList<>());
-        ratingList.add(rating);
-        ratingMap.put(rating.getRestaurantId(), ratingList);
+        Stripe stripe = stripeFor(rating.getRestaurantId());
+        synchronized (stripe) {
+            stripe.add(rating);
+        }
         return rating;
     }
-    
+
+    // Applies a burst of ratings taking each stripe's lock once: the batch is bucketed by
+    // stripe first, then each bucket is applied under its lock.
+    // Returns the ids of the restaurants whose aggregates changed.
+    public int[] addRatings(List<Rating> ratings) {
+        int[] bucketStart = new int[STRIPES + 1];
+        for (Rating rating : ratings) {
+            bucketStart[stripeIndex(rating.getRestaurantId()) + 1]++;
+        }
+        for (int i = 0; i < STRIPES; i++) {
+            bucketStart[i + 1] += bucketStart[i];
+        }
+        Rating[] bucketed = new Rating[ratings.size()];
+        int[] next = bucketStart.clone();
+        for (Rating rating : ratings) {
+            bucketed[next[stripeIndex(rating.getRestaurantId())]++] = rating;
+        }
+
+        int[] touched = new int[ratings.size()];
+        int touchedCount = 0;
+        for (int s = 0; s < STRIPES; s++) {
+            int from = bucketStart[s];
+            int to = bucketStart[s + 1];
+            if (from == to) {
+                continue;
+            }
+            Stripe stripe = stripes[s];
+            synchronized (stripe) {
+                for (int i = from; i < to; i++) {
+                    stripe.add(bucketed[i]);
+                    touched[touchedCount++] = bucketed[i].getRestaurantId();
+                }
+            }
+        }
+        return Arrays.stream(touched, 0, touchedCount).distinct().toArray();
+    }
+
     public List<Rating> getRatingsByRestaurant(int restaurantId) {
-        return ratingMap.getOrDefault(restaurantId, new ArrayList<>());
+        Stripe stripe = stripeFor(restaurantId);
+        synchronized (stripe) {
+            List<Rating> ratings = stripe.ratingMap.get(restaurantId);
+            return ratings == null ? new ArrayList<>() : new ArrayList<>(ratings);
+        }
+    }
+
+    public RatingAggregate getAggregate(int restaurantId) {
+        Stripe stripe = stripeFor(restaurantId);
+        synchronized (stripe) {
+            RatingAggregate aggregate = stripe.aggregateMap.get(restaurantId);
+            return aggregate == null ? new RatingAggregate(restaurantId) : aggregate.copy();
+        }
+    }
+
+    private Stripe stripeFor(int restaurantId) {
+        return stripes[stripeIndex(restaurantId)];
+    }
+
+    // Mixes the id so strided ids (say, multiples of 64) don't all share one stripe
+    private static int stripeIndex(int restaurantId) {
+        int h = restaurantId * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    // One lock's worth of restaurants; only touched while holding the stripe's monitor
+    private static class Stripe {
+        final Map<Integer, List<Rating>> ratingMap = new HashMap<>();
+        final Map<Integer, RatingAggregate> aggregateMap = new HashMap<>();
+
+        void add(Rating rating) {
+            int restaurantId = rating.getRestaurantId();
+            ratingMap.computeIfAbsent(restaurantId, id -> new ArrayList<>()).add(rating);
+            aggregateMap.computeIfAbsent(restaurantId, RatingAggregate::new).add(rating.getRatingNumber());
+        }
     }
 }
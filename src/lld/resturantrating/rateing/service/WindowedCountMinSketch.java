@@ -0,0 +1,93 @@
+package lld.resturantrating.rateing.service;
+
+import java.util.Arrays;
+
+// Approximate per-key counts over a sliding time window in fixed memory, however many
+// distinct keys show up. The window is split into buckets, each a count-min sketch of
+// DEPTH rows; a running total per counter is kept alongside, so counting and estimating
+// are both O(DEPTH). When time moves past a bucket its counts are subtracted from the
+// totals and it is reused. Estimates never undercount; they may overcount when keys
+// collide in every row. Not thread safe: callers lock around it.
+class WindowedCountMinSketch {
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final int width;
+    private final int indexShift;
+    private final long bucketMillis;
+    private final int[][] buckets;
+    private final int[] totals;
+    private long currentSlot = Long.MIN_VALUE;
+
+    // width must be a power of two; the window covers between bucketCount - 1 and
+    // bucketCount buckets of windowMillis / bucketCount each
+    WindowedCountMinSketch(int width, long windowMillis, int bucketCount) {
+        if (width < 2 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Sketch width must be a power of two: " + width);
+        }
+        if (bucketCount < 2 || windowMillis < bucketCount) {
+            throw new IllegalArgumentException("Window of " + windowMillis + " ms can't be split into " + bucketCount + " buckets");
+        }
+        this.width = width;
+        this.indexShift = 64 - Integer.numberOfTrailingZeros(width);
+        this.bucketMillis = windowMillis / bucketCount;
+        this.buckets = new int[bucketCount][DEPTH * width];
+        this.totals = new int[DEPTH * width];
+    }
+
+    // Counts one occurrence of key at time and returns the estimated number of occurrences
+    // within the window, this one included. Times older than the newest seen count towards
+    // the newest bucket.
+    int add(long key, long time) {
+        advance(Math.floorDiv(time, bucketMillis));
+        int[] bucket = buckets[(int) Math.floorMod(currentSlot, (long) buckets.length)];
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = row * width + index(key, row);
+            bucket[index]++;
+            estimate = Math.min(estimate, ++totals[index]);
+        }
+        return estimate;
+    }
+
+    int estimate(long key) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, totals[row * width + index(key, row)]);
+        }
+        return estimate;
+    }
+
+    long memoryBytes() {
+        return 4L * DEPTH * width * (buckets.length + 1);
+    }
+
+    private void advance(long slot) {
+        if (slot <= currentSlot) {
+            return;
+        }
+        if (currentSlot == Long.MIN_VALUE || slot - currentSlot >= buckets.length) {
+            for (int[] bucket : buckets) {
+                Arrays.fill(bucket, 0);
+            }
+            Arrays.fill(totals, 0);
+        } else {
+            for (long expired = currentSlot + 1; expired <= slot; expired++) {
+                int[] bucket = buckets[(int) Math.floorMod(expired, (long) buckets.length)];
+                for (int i = 0; i < bucket.length; i++) {
+                    totals[i] -= bucket[i];
+                    bucket[i] = 0;
+                }
+            }
+        }
+        currentSlot = slot;
+    }
+
+    private int index(long key, int row) {
+        long h = (key + SEEDS[row]) * SEEDS[(row + 1) & (DEPTH - 1)];
+        h ^= h >>> 31;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 29;
+        return (int) (h >>> indexShift);
+    }
+}
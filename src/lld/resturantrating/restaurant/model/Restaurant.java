@@ -8,8 +8,15 @@ public class Restaurant  {
     private String name;
     private List<String> serviceablePinCode;
     private int avarageRating;
+    // Exact score from the rating strategy; avarageRating is its whole-star part for display.
+    // Rankings and sorts read this cached value rather than recomputing anything per query.
+    private double ratingScore;
     private String food;
     private int price;
+    // NaN until the restaurant is given a location; such restaurants are only found by pincode
+    private double latitude = Double.NaN;
+    private double longitude = Double.NaN;
+    private boolean open = true;
 
     public int getPrice() {
         return price;
@@ -51,16 +58,51 @@ public class Restaurant  {
         this.serviceablePinCode = serviceablePinCode;
     }
 
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public void setLocation(double latitude, double longitude) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    public boolean hasLocation() {
+        return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    public void setOpen(boolean open) {
+        this.open = open;
+    }
+
     public int getAvarageRating() {
         return avarageRating;
     }
 
     public void setAvarageRating(int avarageRating) {
         this.avarageRating = avarageRating;
+        this.ratingScore = avarageRating;
+    }
+
+    public double getRatingScore() {
+        return ratingScore;
+    }
+
+    public void setRatingScore(double ratingScore) {
+        this.ratingScore = ratingScore;
+        this.avarageRating = (int) ratingScore;
     }
 
     @Override
     public String toString() {
-        return "Restaurant{" + "id=" + id + ", name='" + name + '\'' + ", serviceablePinCode=" + serviceablePinCode + ", avarageRating=" + avarageRating + ", food='" + food + '\'' + ", price='" + price + '\'' + '}';
+        return "Restaurant{" + "id=" + id + ", name='" + name + '\'' + ", serviceablePinCode=" + serviceablePinCode + ", avarageRating=" + avarageRating + ", ratingScore=" + ratingScore + ", food='" + food + '\'' + ", price='" + price + '\'' + '}';
     }
 }
@@ -1,9 +1,6 @@
 package lld.resturantrating.restaurant.service;
 
-import lld.resturantrating.rateing.model.Rating;
-import lld.resturantrating.restaurant.model.Restaurant;
-
-import java.util.List;
+import lld.resturantrating.rateing.model.RatingAggregate;
 
 public class AverageRatingStrategy implements RestaturantRatingStategry {
     RestaurantService restaurantService;
@@ -12,22 +9,9 @@ public class AverageRatingStrategy implements RestaturantRatingStategry {
         this.restaurantService = restaurantService;
     }
     @Override
-    public void updateRating(List<Rating> ratings) {
-        double avgRating = calculateAverageRating(ratings);
-        if (!ratings.isEmpty()) {
-            int restaurantId = ratings.get(0).getRestaurantId();
-			Restaurant restaurant=restaurantService.get(restaurantId);
-            restaurant.setAvarageRating((int) avgRating);
-        }
-    }
-    
-    private double calculateAverageRating(List<Rating> ratings) {
-        if (ratings == null || ratings.isEmpty()) {
-            return 0.0;
+    public void updateRating(RatingAggregate aggregate) {
+        if (aggregate.getCount() > 0) {
+            restaurantService.updateRating(aggregate.getRestaurantId(), aggregate.getAverage());
         }
-        return ratings.stream()
-                .mapToDouble(Rating::getRatingNumber)
-                .average()
-                .orElse(0.0);
     }
 }
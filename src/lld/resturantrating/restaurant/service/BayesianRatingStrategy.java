@@ -1,9 +1,6 @@
 package lld.resturantrating.restaurant.service;
 
-import lld.resturantrating.rateing.model.Rating;
-import lld.resturantrating.restaurant.model.Restaurant;
-
-import java.util.List;
+import lld.resturantrating.rateing.model.RatingAggregate;
 
 public class BayesianRatingStrategy implements RestaturantRatingStategry {
 
@@ -16,25 +13,16 @@ public class BayesianRatingStrategy implements RestaturantRatingStategry {
     }
     
     @Override
-    public void updateRating(List<Rating> ratings) {
-        if (ratings == null || ratings.isEmpty()) {
+    public void updateRating(RatingAggregate aggregate) {
+        if (aggregate.getCount() == 0) {
             return;
         }
-        double bayesianRating = calculateBayesianRating(ratings);
-        int restaurantId = ratings.get(0).getRestaurantId();
-        Restaurant restaurant = restaurantService.get(restaurantId);
-        restaurant.setAvarageRating((int)bayesianRating);
+        double bayesianRating = calculateBayesianRating(aggregate);
+        restaurantService.updateRating(aggregate.getRestaurantId(), bayesianRating);
     }
     
-    private double calculateBayesianRating(List<Rating> ratings) {
-        if (ratings == null || ratings.isEmpty()) {
-            return AVERAGE_RATING;
-        }
-        double average = ratings.stream()
-                .mapToDouble(Rating::getRatingNumber)
-                .average()
-                .orElse(AVERAGE_RATING);
-        double ratingCount = ratings.size();
-        return (MIN_RATINGS * AVERAGE_RATING + ratingCount * average) / (MIN_RATINGS + ratingCount);
+    // count * average is just the running sum, so no pass over the ratings is needed
+    private double calculateBayesianRating(RatingAggregate aggregate) {
+        return (MIN_RATINGS * AVERAGE_RATING + aggregate.getSum()) / (MIN_RATINGS + aggregate.getCount());
     }
 }
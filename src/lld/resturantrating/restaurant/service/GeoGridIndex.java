@@ -0,0 +1,142 @@
+package lld.resturantrating.restaurant.service;
+
+import lld.resturantrating.restaurant.model.Restaurant;
+
+import java.util.*;
+
+// Restaurants bucketed into fixed lat/lon grid cells (0.01 degree, about 1.1 km north-south)
+// so a nearby search only looks at the cells around the query point. Cells are visited in
+// square rings moving outwards and the search stops as soon as a ring can't hold anything
+// closer than the N-th nearest match found so far.
+public class GeoGridIndex {
+    private static final double CELL_DEGREES = 0.01;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private final Map<Long, List<Restaurant>> cells;
+    // Cell each restaurant was filed under, so a move can be unindexed after the
+    // restaurant's own coordinates were already changed
+    private final Map<Integer, Long> indexedCells;
+
+    public GeoGridIndex() {
+        this.cells = new HashMap<>();
+        this.indexedCells = new HashMap<>();
+    }
+
+    public void add(Restaurant restaurant) {
+        if (!restaurant.hasLocation()) {
+            return;
+        }
+        long cell = cellKey(cellRow(restaurant.getLatitude()), cellColumn(restaurant.getLongitude()));
+        cells.computeIfAbsent(cell, k -> new ArrayList<>()).add(restaurant);
+        indexedCells.put(restaurant.getId(), cell);
+    }
+
+    public void remove(Restaurant restaurant) {
+        Long cell = indexedCells.remove(restaurant.getId());
+        if (cell == null) {
+            return;
+        }
+        List<Restaurant> restaurants = cells.get(cell);
+        restaurants.removeIf(r -> r.getId() == restaurant.getId());
+        if (restaurants.isEmpty()) {
+            cells.remove(cell);
+        }
+    }
+
+    // The N open restaurants nearest to the point within radiusKm, nearest first
+    public List<Restaurant> nearestOpen(double latitude, double longitude, double radiusKm, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        // Farthest we may need to go, in cells, along each axis
+        int rowReach = (int) Math.ceil(radiusKm / (CELL_DEGREES * KM_PER_DEGREE));
+        double minCos = Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude) + rowReach * CELL_DEGREES)));
+        int columnReach = (int) Math.ceil(radiusKm / (CELL_DEGREES * KM_PER_DEGREE * minCos));
+        // Smallest width of a cell in km inside the search area, for the ring cut-off
+        double cellKm = CELL_DEGREES * KM_PER_DEGREE * minCos;
+
+        int row = cellRow(latitude);
+        int column = cellColumn(longitude);
+        // Max-heap on distance holding the best `limit` matches so far
+        PriorityQueue<Candidate> nearest = new PriorityQueue<>(limit + 1, (a, b) -> Double.compare(b.distanceKm, a.distanceKm));
+        int maxRing = Math.max(rowReach, columnReach);
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Every point in ring r is at least r-1 whole cells away from the query point
+            if (nearest.size() == limit && (ring - 1) * cellKm > nearest.peek().distanceKm) {
+                break;
+            }
+            for (int r = row - Math.min(ring, rowReach); r <= row + Math.min(ring, rowReach); r++) {
+                boolean edgeRow = Math.abs(r - row) == ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int c = column - ring; c <= column + ring; c += Math.max(1, step)) {
+                    if (Math.abs(c - column) > columnReach) {
+                        continue;
+                    }
+                    List<Restaurant> restaurants = cells.get(cellKey(r, c));
+                    if (restaurants != null) {
+                        collect(restaurants, latitude, longitude, cosLatitude, radiusKm, limit, nearest);
+                    }
+                }
+            }
+        }
+        List<Restaurant> result = new ArrayList<>(nearest.size());
+        Candidate[] ordered = nearest.toArray(new Candidate[0]);
+        Arrays.sort(ordered, Comparator.comparingDouble(candidate -> candidate.distanceKm));
+        for (Candidate candidate : ordered) {
+            result.add(candidate.restaurant);
+        }
+        return result;
+    }
+
+    private static void collect(List<Restaurant> restaurants, double latitude, double longitude, double cosLatitude,
+                                double radiusKm, int limit, PriorityQueue<Candidate> nearest) {
+        for (Restaurant restaurant : restaurants) {
+            if (!restaurant.isOpen()) {
+                continue;
+            }
+            double distanceKm = distanceKm(latitude, longitude, cosLatitude, restaurant.getLatitude(), restaurant.getLongitude());
+            if (distanceKm > radiusKm) {
+                continue;
+            }
+            if (nearest.size() < limit) {
+                nearest.add(new Candidate(restaurant, distanceKm));
+            } else if (distanceKm < nearest.peek().distanceKm) {
+                nearest.poll();
+                nearest.add(new Candidate(restaurant, distanceKm));
+            }
+        }
+    }
+
+    // Equirectangular approximation: over a few tens of km its error is far below GPS
+    // noise, and unlike haversine it needs no trigonometry per candidate
+    public static double distanceKm(double latitude, double longitude, double cosLatitude,
+                                    double otherLatitude, double otherLongitude) {
+        double x = (otherLongitude - longitude) * cosLatitude;
+        double y = otherLatitude - latitude;
+        return Math.sqrt(x * x + y * y) * KM_PER_DEGREE;
+    }
+
+    private static int cellRow(double latitude) {
+        return (int) Math.floor(latitude / CELL_DEGREES);
+    }
+
+    private static int cellColumn(double longitude) {
+        return (int) Math.floor(longitude / CELL_DEGREES);
+    }
+
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private static class Candidate {
+        final Restaurant restaurant;
+        final double distanceKm;
+
+        Candidate(Restaurant restaurant, double distanceKm) {
+            this.restaurant = restaurant;
+            this.distanceKm = distanceKm;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package lld.resturantrating.restaurant.service;
+
+import lld.resturantrating.restaurant.model.Restaurant;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Results of pincode listing queries keyed by (pincode, sort strategy, direction, page).
+// Invalidation is driven by RestaurantService change events and is precise: a change drops
+// only the entries of the pincodes the restaurant is listed under, and only for strategies
+// the change can reorder (a rating change leaves price-sorted pages alone).
+// A per-pincode version closes the race between a reader computing a listing and a change
+// landing before it stores it: the result is only cached if the version didn't move.
+public class ListingCache implements RestaurantChangeListener {
+    private final int maxCachedPages;
+    private final Map<String, PinCodeEntries> byPinCode = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder hitNanos = new LongAdder();
+    private final LongAdder missNanos = new LongAdder();
+
+    // Pages beyond maxCachedPages are rarely repeated and are served uncached, which also
+    // bounds the cache to pincodes x strategies x maxCachedPages entries
+    public ListingCache(int maxCachedPages) {
+        this.maxCachedPages = maxCachedPages;
+    }
+
+    // page < 0 stands for the full, unpaged listing
+    public List<Restaurant> get(String pincode, RestaurantSortStrategy strategy, boolean descending, int page, int pageSize,
+                                Supplier<List<Restaurant>> loader) {
+        long start = System.nanoTime();
+        if (page >= maxCachedPages) {
+            List<Restaurant> result = loader.get();
+            misses.increment();
+            missNanos.add(System.nanoTime() - start);
+            return result;
+        }
+        ListingKey key = new ListingKey(strategy, descending, page, pageSize);
+        PinCodeEntries entries = byPinCode.computeIfAbsent(pincode, k -> new PinCodeEntries());
+        List<Restaurant> cached = entries.listings.get(key);
+        if (cached != null) {
+            hits.increment();
+            hitNanos.add(System.nanoTime() - start);
+            return cached;
+        }
+        long version = entries.version;
+        List<Restaurant> result = Collections.unmodifiableList(loader.get());
+        synchronized (entries) {
+            if (entries.version == version) {
+                entries.listings.put(key, result);
+            }
+        }
+        misses.increment();
+        missNanos.add(System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public void onRestaurantChanged(Restaurant restaurant, List<String> pinCodes, RestaurantChangeType type) {
+        for (String pinCode : pinCodes) {
+            PinCodeEntries entries = byPinCode.get(pinCode);
+            if (entries == null) {
+                continue;
+            }
+            synchronized (entries) {
+                entries.version++;
+                int before = entries.listings.size();
+                entries.listings.keySet().removeIf(key -> key.isAffectedBy(type));
+                invalidations.add(before - entries.listings.size());
+            }
+        }
+    }
+
+    public void clear() {
+        for (PinCodeEntries entries : byPinCode.values()) {
+            synchronized (entries) {
+                entries.version++;
+                entries.listings.clear();
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public double getHitRate() {
+        long lookups = hits.sum() + misses.sum();
+        return lookups == 0 ? 0.0 : (double) hits.sum() / lookups;
+    }
+
+    public double getAverageHitMicros() {
+        long count = hits.sum();
+        return count == 0 ? 0.0 : hitNanos.sum() / 1000.0 / count;
+    }
+
+    public double getAverageMissMicros() {
+        long count = misses.sum();
+        return count == 0 ? 0.0 : missNanos.sum() / 1000.0 / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ListingCache{hits=%d, misses=%d, hitRate=%.1f%%, invalidations=%d, avgHit=%.2fus, avgMiss=%.2fus}",
+                getHits(), getMisses(), getHitRate() * 100, getInvalidations(), getAverageHitMicros(), getAverageMissMicros());
+    }
+
+    private static class PinCodeEntries {
+        final Map<ListingKey, List<Restaurant>> listings = new ConcurrentHashMap<>();
+        // Bumped under the entries' monitor on every invalidation
+        volatile long version;
+    }
+
+    // Keyed by strategy class; the instance is kept to ask which changes affect it
+    private static class ListingKey {
+        final RestaurantSortStrategy strategy;
+        final boolean descending;
+        final int page;
+        final int pageSize;
+
+        ListingKey(RestaurantSortStrategy strategy, boolean descending, int page, int pageSize) {
+            this.strategy = strategy;
+            this.descending = descending;
+            this.page = page;
+            this.pageSize = pageSize;
+        }
+
+        boolean isAffectedBy(RestaurantChangeType type) {
+            return strategy.isAffectedBy(type);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ListingKey)) {
+                return false;
+            }
+            ListingKey other = (ListingKey) o;
+            return descending == other.descending && page == other.page && pageSize == other.pageSize
+                    && strategy.getClass() == other.strategy.getClass();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(strategy.getClass(), descending, page, pageSize);
+        }
+    }
+}
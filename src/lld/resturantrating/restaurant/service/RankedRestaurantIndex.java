@@ -0,0 +1,66 @@
+package lld.resturantrating.restaurant.service;
+
+import lld.resturantrating.restaurant.model.Restaurant;
+
+import java.util.*;
+
+// Restaurants of each pincode kept in the order of one sort strategy, so a page of the
+// listing is read straight off a tree instead of sorting the whole pincode per request.
+// The ranking key of a restaurant must not change while it is ranked: RestaurantService
+// removes it, applies the change, and ranks it again.
+public class RankedRestaurantIndex {
+    private final Comparator<Restaurant> order;
+    private final Map<String, TreeSet<Restaurant>> byPinCode;
+
+    public RankedRestaurantIndex(RestaurantSortStrategy strategy) {
+        // Ties broken by id so restaurants with equal keys are distinct entries
+        this.order = strategy.getComparator().thenComparingInt(Restaurant::getId);
+        this.byPinCode = new HashMap<>();
+    }
+
+    public void add(Restaurant restaurant, List<String> pinCodes) {
+        for (String pinCode : pinCodes) {
+            byPinCode.computeIfAbsent(pinCode, k -> new TreeSet<>(order)).add(restaurant);
+        }
+    }
+
+    public void remove(Restaurant restaurant, List<String> pinCodes) {
+        for (String pinCode : pinCodes) {
+            TreeSet<Restaurant> ranked = byPinCode.get(pinCode);
+            if (ranked == null) {
+                continue;
+            }
+            // The key was edited in place before update(), so the tree can't find it by
+            // comparison any more; fall back to an identity scan of this pincode
+            if (!ranked.remove(restaurant)) {
+                ranked.removeIf(r -> r == restaurant);
+            }
+            if (ranked.isEmpty()) {
+                byPinCode.remove(pinCode);
+            }
+        }
+    }
+
+    // O(log n + offset + limit): the iterator starts at the tree's first leaf and
+    // walks only as far as the requested page
+    public List<Restaurant> page(String pinCode, int offset, int limit, boolean descending) {
+        TreeSet<Restaurant> ranked = byPinCode.get(pinCode);
+        if (ranked == null || limit <= 0 || offset >= ranked.size()) {
+            return new ArrayList<>();
+        }
+        List<Restaurant> page = new ArrayList<>(Math.min(limit, ranked.size() - offset));
+        Iterator<Restaurant> iterator = descending ? ranked.descendingIterator() : ranked.iterator();
+        for (int skipped = 0; skipped < offset; skipped++) {
+            iterator.next();
+        }
+        while (iterator.hasNext() && page.size() < limit) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    public List<Restaurant> list(String pinCode) {
+        TreeSet<Restaurant> ranked = byPinCode.get(pinCode);
+        return ranked == null ? new ArrayList<>() : new ArrayList<>(ranked);
+    }
+}
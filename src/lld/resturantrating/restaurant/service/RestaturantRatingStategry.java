@@ -1,10 +1,23 @@
 package lld.resturantrating.restaurant.service;
 
 import lld.resturantrating.rateing.model.Rating;
-import lld.resturantrating.restaurant.model.Restaurant;
+import lld.resturantrating.rateing.model.RatingAggregate;
 
 import java.util.List;
 
 public interface RestaturantRatingStategry {
-	public void updateRating(List<Rating> rating);
+	// O(1): works from the running totals RatingService keeps per restaurant
+	public void updateRating(RatingAggregate aggregate);
+
+	// Called with every rating before the aggregate update, possibly from several ingestion
+	// threads at once. Strategies that need more than the running totals keep that state here.
+	public default void recordRating(Rating rating) {
+	}
+
+	public default void updateRating(List<Rating> ratings) {
+		if (ratings == null || ratings.isEmpty()) {
+			return;
+		}
+		updateRating(RatingAggregate.of(ratings.get(0).getRestaurantId(), ratings));
+	}
 }
@@ -0,0 +1,12 @@
+package lld.resturantrating.restaurant.service;
+
+import lld.resturantrating.restaurant.model.Restaurant;
+
+import java.util.List;
+
+// Told about every change that can alter a pincode listing. Called while RestaurantService
+// holds its write lock, so no listing can observe the change before listeners have run;
+// implementations must be quick and must not call back into the service.
+public interface RestaurantChangeListener {
+    void onRestaurantChanged(Restaurant restaurant, List<String> pinCodes, RestaurantChangeType type);
+}
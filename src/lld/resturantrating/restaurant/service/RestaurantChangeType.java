@@ -0,0 +1,10 @@
+package lld.resturantrating.restaurant.service;
+
+public enum RestaurantChangeType {
+    // Listed under its pincodes, or re-listed after an update
+    ADDED,
+    // Taken off its pincodes, including the old pincodes of a restaurant being updated
+    REMOVED,
+    RATING,
+    PRICE
+}
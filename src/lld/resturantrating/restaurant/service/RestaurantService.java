@@ -5,45 +5,313 @@ import lld.resturantrating.rateing.service.RatingService;
 import lld.resturantrating.restaurant.model.Restaurant;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class RestaurantService {
     Map<Integer, Restaurant>  restaurantMap;
     RatingService ratingService;
+    // pincode -> restaurants serving it, so pincode lookups cost the size of the result
+    // instead of a scan over every restaurant
+    private final Map<String, Map<Integer, Restaurant>> pinCodeIndex;
+    // Pincodes each restaurant is currently indexed under. Kept separately because the
+    // caller may mutate the restaurant's own list before calling update.
+    private final Map<Integer, List<String>> indexedPinCodes;
+    // Per-pincode rankings for the sort strategies listings use, keyed by strategy class
+    private final Map<Class<? extends RestaurantSortStrategy>, RankedRestaurantIndex> rankings;
+    // Restaurants with coordinates, bucketed by grid cell for nearest-open search
+    private final GeoGridIndex geoIndex;
+    // Words of names and foods, each term's restaurants kept best rated first
+    private final TextSearchIndex textIndex;
+    // Told about every add, remove, rating and price change, e.g. to invalidate caches
+    private final List<RestaurantChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    // Listings are read from request threads while ratings are applied from the ingestion
+    // thread, so reads share the lock and index changes take it exclusively
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
     public RestaurantService() {
         this.restaurantMap = new HashMap<>();
         this.ratingService=new RatingService();
+        this.pinCodeIndex = new HashMap<>();
+        this.indexedPinCodes = new HashMap<>();
+        this.rankings = new HashMap<>();
+        this.geoIndex = new GeoGridIndex();
+        this.textIndex = new TextSearchIndex(new SortByRatingStrategy().getComparator().reversed());
+        registerRanking(new SortByRatingStrategy());
+        registerRanking(new SortByPriceStrategy());
+    }
+
+    // Keeps a pre-sorted per-pincode ranking for this strategy from now on. Listings for
+    // strategies without a ranking still work; they sort the pincode on each call.
+    public void registerRanking(RestaurantSortStrategy strategy) {
+        lock.writeLock().lock();
+        try {
+            RankedRestaurantIndex ranking = new RankedRestaurantIndex(strategy);
+            for (Map.Entry<Integer, List<String>> entry : indexedPinCodes.entrySet()) {
+                ranking.add(restaurantMap.get(entry.getKey()), entry.getValue());
+            }
+            rankings.put(strategy.getClass(), ranking);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addChangeListener(RestaurantChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(RestaurantChangeListener listener) {
+        changeListeners.remove(listener);
     }
 
     public Restaurant add(Restaurant restaurant){
-        restaurantMap.put(restaurant.getId(),restaurant);
-        return restaurant;
+        lock.writeLock().lock();
+        try {
+            Restaurant previous = restaurantMap.put(restaurant.getId(),restaurant);
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(restaurant);
+            return restaurant;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Re-indexes a restaurant after its pincodes, location, name or food were changed in place
+    public Restaurant update(Restaurant restaurant){
+        return add(restaurant);
+    }
+
+    public Restaurant remove(int id){
+        lock.writeLock().lock();
+        try {
+            Restaurant removed = restaurantMap.remove(id);
+            if (removed != null) {
+                unindex(removed);
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ranking keys only change through these two methods (or update() after an in-place
+    // edit) so the restaurant is taken out of every ranking before its key moves
+    public void updateRating(int id, double ratingScore) {
+        lock.writeLock().lock();
+        try {
+            Restaurant restaurant = restaurantMap.get(id);
+            if (restaurant == null || restaurant.getRatingScore() == ratingScore) {
+                return;
+            }
+            unrank(restaurant);
+            restaurant.setRatingScore(ratingScore);
+            rank(restaurant);
+            notifyChange(restaurant, RestaurantChangeType.RATING);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updatePrice(int id, int price) {
+        lock.writeLock().lock();
+        try {
+            Restaurant restaurant = restaurantMap.get(id);
+            if (restaurant == null || restaurant.getPrice() == price) {
+                return;
+            }
+            unrank(restaurant);
+            restaurant.setPrice(price);
+            rank(restaurant);
+            notifyChange(restaurant, RestaurantChangeType.PRICE);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     public Restaurant get(int id){
-        return restaurantMap.get(id);
+        lock.readLock().lock();
+        try {
+            return restaurantMap.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
     public List<Restaurant> listAll(){
-        List<Restaurant> restaurants=new ArrayList<>();
-        for (Map.Entry<Integer,Restaurant> restaurantEntry:restaurantMap.entrySet()){
-            restaurants.add(restaurantEntry.getValue());
+        lock.readLock().lock();
+        try {
+            List<Restaurant> restaurants=new ArrayList<>();
+            for (Map.Entry<Integer,Restaurant> restaurantEntry:restaurantMap.entrySet()){
+                restaurants.add(restaurantEntry.getValue());
+            }
+            return restaurants;
+        } finally {
+            lock.readLock().unlock();
         }
-        return restaurants;
     }
 
     public List<Restaurant> listByPinCode(String pincode){
-        List<Restaurant> restaurants=new ArrayList<>();
-        for (Map.Entry<Integer,Restaurant> restaurantEntry:restaurantMap.entrySet()){
-            if (restaurantEntry.getValue().getServiceablePinCode().contains(pincode)){
-                restaurants.add(restaurantEntry.getValue());
+        lock.readLock().lock();
+        try {
+            Map<Integer, Restaurant> serving = pinCodeIndex.get(pincode);
+            if (serving == null) {
+                return new ArrayList<>();
             }
+            return new ArrayList<>(serving.values());
+        } finally {
+            lock.readLock().unlock();
         }
-        return restaurants;
     }
     public List<Restaurant> listByPinCodeSorted(String pincode, RestaurantSortStrategy strategy){
-        return restaurantMap.values().stream()
-                .filter(r -> r.getServiceablePinCode().contains(pincode))
-                .sorted(strategy.getComparator())
-                .collect(java.util.stream.Collectors.toList());
+        lock.readLock().lock();
+        try {
+            RankedRestaurantIndex ranking = rankings.get(strategy.getClass());
+            if (ranking != null) {
+                return ranking.list(pincode);
+            }
+            List<Restaurant> restaurants = listByPinCode(pincode);
+            restaurants.sort(strategy.getComparator());
+            return restaurants;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // One page of a pincode's listing in strategy order, or reversed when descending
+    // (e.g. highest rated first). Reads only the requested page from the ranking.
+    public List<Restaurant> pageByPinCodeSorted(String pincode, RestaurantSortStrategy strategy,
+                                                int offset, int limit, boolean descending){
+        lock.readLock().lock();
+        try {
+            RankedRestaurantIndex ranking = rankings.get(strategy.getClass());
+            if (ranking != null) {
+                return ranking.page(pincode, offset, limit, descending);
+            }
+            List<Restaurant> restaurants = listByPinCode(pincode);
+            Comparator<Restaurant> comparator = strategy.getComparator();
+            restaurants.sort(descending ? comparator.reversed() : comparator);
+            if (offset >= restaurants.size()) {
+                return new ArrayList<>();
+            }
+            return new ArrayList<>(restaurants.subList(offset, Math.min(restaurants.size(), offset + limit)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The nearest `limit` open restaurants within radiusKm, then ordered by rating, best
+    // first; equally rated ones stay nearest first
+    public List<Restaurant> nearestOpenSortedByRating(double latitude, double longitude, double radiusKm, int limit){
+        lock.readLock().lock();
+        try {
+            List<Restaurant> nearest = geoIndex.nearestOpen(latitude, longitude, radiusKm, limit);
+            nearest.sort(new SortByRatingStrategy().getComparator().reversed());
+            return nearest;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Restaurants whose name or food contain every word of the query, the last word matched
+    // as a prefix so it works while typing. pincode may be null; best rated first.
+    public List<Restaurant> search(String query, String pincode, double minRating, int limit){
+        lock.readLock().lock();
+        try {
+            Map<Integer, Restaurant> serving = null;
+            if (pincode != null) {
+                serving = pinCodeIndex.get(pincode);
+                if (serving == null) {
+                    return new ArrayList<>();
+                }
+            }
+            Map<Integer, Restaurant> scope = serving;
+            return textIndex.search(query, scope == null ? null : scope.values(),
+                    r -> r.getRatingScore() >= minRating && (scope == null || scope.containsKey(r.getId())), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<String> suggest(String prefix, int limit){
+        lock.readLock().lock();
+        try {
+            return textIndex.suggest(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void notifyChange(Restaurant restaurant, RestaurantChangeType type) {
+        List<String> pinCodes = indexedPinCodes.get(restaurant.getId());
+        if (pinCodes == null || changeListeners.isEmpty()) {
+            return;
+        }
+        for (RestaurantChangeListener listener : changeListeners) {
+            listener.onRestaurantChanged(restaurant, pinCodes, type);
+        }
+    }
+
+    private void rank(Restaurant restaurant) {
+        textIndex.rank(restaurant);
+        List<String> pinCodes = indexedPinCodes.get(restaurant.getId());
+        if (pinCodes != null) {
+            for (RankedRestaurantIndex ranking : rankings.values()) {
+                ranking.add(restaurant, pinCodes);
+            }
+        }
+    }
+
+    private void unrank(Restaurant restaurant) {
+        textIndex.unrank(restaurant);
+        List<String> pinCodes = indexedPinCodes.get(restaurant.getId());
+        if (pinCodes != null) {
+            for (RankedRestaurantIndex ranking : rankings.values()) {
+                ranking.remove(restaurant, pinCodes);
+            }
+        }
+    }
+
+    private void index(Restaurant restaurant) {
+        geoIndex.add(restaurant);
+        textIndex.add(restaurant);
+        List<String> pinCodes = restaurant.getServiceablePinCode();
+        if (pinCodes == null || pinCodes.isEmpty()) {
+            return;
+        }
+        List<String> snapshot = new ArrayList<>(pinCodes);
+        for (String pinCode : snapshot) {
+            pinCodeIndex.computeIfAbsent(pinCode, k -> new HashMap<>()).put(restaurant.getId(), restaurant);
+        }
+        indexedPinCodes.put(restaurant.getId(), snapshot);
+        notifyChange(restaurant, RestaurantChangeType.ADDED);
+        for (RankedRestaurantIndex ranking : rankings.values()) {
+            ranking.add(restaurant, snapshot);
+        }
+    }
+
+    private void unindex(Restaurant restaurant) {
+        int id = restaurant.getId();
+        geoIndex.remove(restaurant);
+        textIndex.remove(restaurant);
+        notifyChange(restaurant, RestaurantChangeType.REMOVED);
+        List<String> pinCodes = indexedPinCodes.remove(id);
+        if (pinCodes == null) {
+            return;
+        }
+        for (RankedRestaurantIndex ranking : rankings.values()) {
+            ranking.remove(restaurant, pinCodes);
+        }
+        for (String pinCode : pinCodes) {
+            Map<Integer, Restaurant> serving = pinCodeIndex.get(pinCode);
+            if (serving != null) {
+                serving.remove(id);
+                if (serving.isEmpty()) {
+                    pinCodeIndex.remove(pinCode);
+                }
+            }
+        }
     }
 
 }
@@ -6,4 +6,10 @@ import java.util.Comparator;
 
 public interface RestaurantSortStrategy {
     Comparator<Restaurant> getComparator();
+
+    // Whether a change of this kind can reorder a listing sorted by this strategy; cached
+    // listings of strategies that are not affected survive it
+    default boolean isAffectedBy(RestaurantChangeType type) {
+        return true;
+    }
 }
@@ -9,4 +9,9 @@ public class SortByPriceStrategy implements RestaurantSortStrategy {
     public Comparator<Restaurant> getComparator() {
         return Comparator.comparing(Restaurant::getPrice);
     }
+
+    @Override
+    public boolean isAffectedBy(RestaurantChangeType type) {
+        return type != RestaurantChangeType.RATING;
+    }
 }
@@ -7,6 +7,11 @@ import java.util.Comparator;
 public class SortByRatingStrategy implements RestaurantSortStrategy {
     @Override
     public Comparator<Restaurant> getComparator() {
-        return Comparator.comparingInt(Restaurant::getAvarageRating);
+        return Comparator.comparingDouble(Restaurant::getRatingScore);
+    }
+
+    @Override
+    public boolean isAffectedBy(RestaurantChangeType type) {
+        return type != RestaurantChangeType.PRICE;
     }
 }
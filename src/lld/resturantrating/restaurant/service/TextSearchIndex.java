@@ -0,0 +1,230 @@
+package lld.resturantrating.restaurant.service;
+
+import lld.resturantrating.restaurant.model.Restaurant;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+// Inverted index over the words of each restaurant's name and food. Terms are kept in a
+// sorted map so a prefix ("biry") is the contiguous range of terms starting with it, which
+// is what autocomplete and the last, still-being-typed word of a query use.
+// Each term's restaurants are kept best-first in the listing order, so a search walks
+// them in result order and stops after `limit` hits instead of visiting every match of a
+// common word. Like RankedRestaurantIndex, a restaurant's ranking key must not change
+// while it is indexed; RestaurantService unranks and reranks it around rating changes.
+public class TextSearchIndex {
+    private final Comparator<Restaurant> order;
+    private final TreeMap<String, TreeSet<Restaurant>> postings;
+    // Terms each restaurant was indexed under; used to unindex it and to check a prefix
+    // against a single candidate without touching the term map
+    private final Map<Integer, String[]> indexedTerms;
+
+    public TextSearchIndex(Comparator<Restaurant> order) {
+        this.order = order.thenComparingInt(Restaurant::getId);
+        this.postings = new TreeMap<>();
+        this.indexedTerms = new HashMap<>();
+    }
+
+    public void add(Restaurant restaurant) {
+        Set<String> terms = new LinkedHashSet<>();
+        terms.addAll(tokenize(restaurant.getName()));
+        terms.addAll(tokenize(restaurant.getFood()));
+        if (terms.isEmpty()) {
+            return;
+        }
+        String[] indexed = terms.toArray(new String[0]);
+        indexedTerms.put(restaurant.getId(), indexed);
+        addPostings(restaurant, indexed);
+    }
+
+    public void remove(Restaurant restaurant) {
+        String[] terms = indexedTerms.remove(restaurant.getId());
+        if (terms != null) {
+            removePostings(restaurant, terms);
+        }
+    }
+
+    // Take the restaurant out before its ranking key changes and put it back after
+    public void unrank(Restaurant restaurant) {
+        String[] terms = indexedTerms.get(restaurant.getId());
+        if (terms != null) {
+            removePostings(restaurant, terms);
+        }
+    }
+
+    public void rank(Restaurant restaurant) {
+        String[] terms = indexedTerms.get(restaurant.getId());
+        if (terms != null) {
+            addPostings(restaurant, terms);
+        }
+    }
+
+    // Up to `limit` restaurants, best first, containing every word of the query with the
+    // last word matched as a prefix, that also pass the filter. `scope` is an optional
+    // candidate set (e.g. a pincode's restaurants) walked instead of the postings when it
+    // is smaller; it is only a hint, so the filter must check scope membership itself.
+    public List<Restaurant> search(String query, Collection<Restaurant> scope, Predicate<Restaurant> filter, int limit) {
+        List<String> words = tokenize(query);
+        List<Restaurant> matches = new ArrayList<>();
+        if (words.isEmpty() || limit <= 0) {
+            return matches;
+        }
+        String prefix = words.get(words.size() - 1);
+        List<TreeSet<Restaurant>> exact = new ArrayList<>(words.size() - 1);
+        for (String word : words.subList(0, words.size() - 1)) {
+            TreeSet<Restaurant> restaurants = postings.get(word);
+            if (restaurants == null) {
+                return matches;
+            }
+            exact.add(restaurants);
+        }
+        exact.sort(Comparator.comparingInt(TreeSet::size));
+
+        if (scope != null && (exact.isEmpty() || scope.size() < exact.get(0).size())) {
+            // A small scope is cheaper to check in full and sort than any posting walk
+            for (Restaurant restaurant : scope) {
+                if (matches(restaurant, exact, prefix, filter)) {
+                    matches.add(restaurant);
+                }
+            }
+            matches.sort(order);
+            return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+        }
+        if (!exact.isEmpty()) {
+            for (Restaurant restaurant : exact.get(0)) {
+                if (matches(restaurant, exact, prefix, filter)) {
+                    matches.add(restaurant);
+                    if (matches.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            return matches;
+        }
+        return mergePrefixRange(prefix, filter, limit);
+    }
+
+    // Indexed terms starting with the prefix, the ones found in the most restaurants first
+    public List<String> suggest(String prefix, int limit) {
+        List<String> words = tokenize(prefix);
+        if (words.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        PriorityQueue<Map.Entry<String, TreeSet<Restaurant>>> best =
+                new PriorityQueue<>(limit + 1, Comparator.comparingInt(entry -> entry.getValue().size()));
+        for (Map.Entry<String, TreeSet<Restaurant>> entry : prefixRange(words.get(0)).entrySet()) {
+            best.add(entry);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<String> suggestions = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            suggestions.add(best.poll().getKey());
+        }
+        Collections.reverse(suggestions);
+        return suggestions;
+    }
+
+    // Only a prefix was typed: merge the postings of every term in the prefix range in
+    // listing order, the way a k-way merge of sorted runs works, until `limit` hits
+    private List<Restaurant> mergePrefixRange(String prefix, Predicate<Restaurant> filter, int limit) {
+        List<Restaurant> matches = new ArrayList<>();
+        PriorityQueue<PostingCursor> cursors = new PriorityQueue<>((a, b) -> order.compare(a.head, b.head));
+        for (TreeSet<Restaurant> restaurants : prefixRange(prefix).values()) {
+            Iterator<Restaurant> iterator = restaurants.iterator();
+            cursors.add(new PostingCursor(iterator.next(), iterator));
+        }
+        Restaurant previous = null;
+        while (!cursors.isEmpty() && matches.size() < limit) {
+            PostingCursor cursor = cursors.poll();
+            Restaurant restaurant = cursor.head;
+            // A restaurant under several matching terms comes out of each of them in a row
+            if (restaurant != previous && filter.test(restaurant)) {
+                matches.add(restaurant);
+            }
+            previous = restaurant;
+            if (cursor.rest.hasNext()) {
+                cursor.head = cursor.rest.next();
+                cursors.add(cursor);
+            }
+        }
+        return matches;
+    }
+
+    private boolean matches(Restaurant restaurant, List<TreeSet<Restaurant>> exact, String prefix, Predicate<Restaurant> filter) {
+        for (TreeSet<Restaurant> restaurants : exact) {
+            if (!restaurants.contains(restaurant)) {
+                return false;
+            }
+        }
+        return hasTermWithPrefix(restaurant, prefix) && filter.test(restaurant);
+    }
+
+    private SortedMap<String, TreeSet<Restaurant>> prefixRange(String prefix) {
+        return postings.subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+
+    private boolean hasTermWithPrefix(Restaurant restaurant, String prefix) {
+        String[] terms = indexedTerms.get(restaurant.getId());
+        if (terms != null) {
+            for (String term : terms) {
+                if (term.startsWith(prefix)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void addPostings(Restaurant restaurant, String[] terms) {
+        for (String term : terms) {
+            postings.computeIfAbsent(term, k -> new TreeSet<>(order)).add(restaurant);
+        }
+    }
+
+    private void removePostings(Restaurant restaurant, String[] terms) {
+        for (String term : terms) {
+            TreeSet<Restaurant> restaurants = postings.get(term);
+            if (restaurants == null) {
+                continue;
+            }
+            // Rating edited in place before update(): the tree can't find it by key any more
+            if (!restaurants.remove(restaurant)) {
+                restaurants.removeIf(r -> r == restaurant);
+            }
+            if (restaurants.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    // Lower-cased runs of letters and digits: "Paneer-Tikka House" -> [paneer, tikka, house]
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static class PostingCursor {
+        Restaurant head;
+        final Iterator<Restaurant> rest;
+
+        PostingCursor(Restaurant head, Iterator<Restaurant> rest) {
+            this.head = head;
+            this.rest = rest;
+        }
+    }
+}
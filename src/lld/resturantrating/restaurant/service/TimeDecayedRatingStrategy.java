@@ -0,0 +1,106 @@
+package lld.resturantrating.restaurant.service;
+
+import lld.resturantrating.rateing.model.Rating;
+import lld.resturantrating.rateing.model.RatingAggregate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Rating = sum(r_i * w_i) / sum(w_i) with w_i = exp(-lambda * age_i), so a rating counts
+// half as much after each half-life. Both sums decay by the same factor over time, so they
+// are kept as of the newest rating seen: a newer rating scales them down once and adds
+// itself with weight 1, an older (late-arriving) one is added already decayed. Each rating
+// is O(1) and the result equals recomputing over every rating. Only ratings recorded while
+// the strategy is installed count; updateRating(List) rebuilds a restaurant from scratch.
+public class TimeDecayedRatingStrategy implements RestaturantRatingStategry {
+    private final RestaurantService restaurantService;
+    private final double lambdaPerMilli;
+    private final Map<Integer, DecayedSum> decayedSums;
+
+    public TimeDecayedRatingStrategy(RestaurantService restaurantService, long halfLifeMillis) {
+        this.restaurantService = restaurantService;
+        this.lambdaPerMilli = Math.log(2) / halfLifeMillis;
+        this.decayedSums = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void recordRating(Rating rating) {
+        // compute() runs atomically per restaurant, so ingestion threads can call this freely
+        decayedSums.compute(rating.getRestaurantId(), (id, decayed) -> {
+            if (decayed == null) {
+                decayed = new DecayedSum(rating.getTimestamp());
+            }
+            decayed.add(rating.getRatingNumber(), rating.getTimestamp(), lambdaPerMilli);
+            return decayed;
+        });
+    }
+
+    @Override
+    public void updateRating(RatingAggregate aggregate) {
+        DecayedSum decayed = decayedSums.get(aggregate.getRestaurantId());
+        if (decayed != null) {
+            restaurantService.updateRating(aggregate.getRestaurantId(), decayed.getScore());
+        }
+    }
+
+    // Full recomputation from the rating list; replaces the running sums for the restaurant
+    @Override
+    public void updateRating(List<Rating> ratings) {
+        if (ratings == null || ratings.isEmpty()) {
+            return;
+        }
+        int restaurantId = ratings.get(0).getRestaurantId();
+        DecayedSum decayed = recompute(ratings, lambdaPerMilli);
+        decayedSums.put(restaurantId, decayed);
+        restaurantService.updateRating(restaurantId, decayed.getScore());
+    }
+
+    public double getScore(int restaurantId) {
+        DecayedSum decayed = decayedSums.get(restaurantId);
+        return decayed == null ? 0.0 : decayed.getScore();
+    }
+
+    // O(n) reference: every weight taken relative to the newest rating
+    public static DecayedSum recompute(List<Rating> ratings, double lambdaPerMilli) {
+        long newest = Long.MIN_VALUE;
+        for (Rating rating : ratings) {
+            newest = Math.max(newest, rating.getTimestamp());
+        }
+        DecayedSum decayed = new DecayedSum(newest);
+        for (Rating rating : ratings) {
+            double weight = Math.exp(-lambdaPerMilli * (newest - rating.getTimestamp()));
+            decayed.sum += rating.getRatingNumber() * weight;
+            decayed.weight += weight;
+        }
+        return decayed;
+    }
+
+    public static class DecayedSum {
+        private double sum;
+        private double weight;
+        // Both sums are as of this time
+        private long asOf;
+
+        DecayedSum(long asOf) {
+            this.asOf = asOf;
+        }
+
+        synchronized void add(int ratingNumber, long timestamp, double lambdaPerMilli) {
+            if (timestamp >= asOf) {
+                double decay = Math.exp(-lambdaPerMilli * (timestamp - asOf));
+                sum = sum * decay + ratingNumber;
+                weight = weight * decay + 1.0;
+                asOf = timestamp;
+            } else {
+                double decay = Math.exp(-lambdaPerMilli * (asOf - timestamp));
+                sum += ratingNumber * decay;
+                weight += decay;
+            }
+        }
+
+        public synchronized double getScore() {
+            return weight == 0 ? 0.0 : sum / weight;
+        }
+    }
+}
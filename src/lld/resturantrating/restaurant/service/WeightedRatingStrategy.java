@@ -1,9 +1,6 @@
 package lld.resturantrating.restaurant.service;
 
-import lld.resturantrating.rateing.model.Rating;
-import lld.resturantrating.restaurant.model.Restaurant;
-
-import java.util.List;
+import lld.resturantrating.rateing.model.RatingAggregate;
 
 public class WeightedRatingStrategy implements RestaturantRatingStategry {
 
@@ -12,28 +9,13 @@ public class WeightedRatingStrategy implements RestaturantRatingStategry {
     public WeightedRatingStrategy(RestaurantService restaurantService) {
         this.restaurantService = restaurantService;
     }
+    // Newer ratings weigh more: the i-th rating has weight i. RatingAggregate keeps the
+    // weighted sum and total weight as ratings arrive.
     @Override
-    public void updateRating(List<Rating> ratings) {
-        if (ratings == null || ratings.isEmpty()) {
+    public void updateRating(RatingAggregate aggregate) {
+        if (aggregate.getCount() == 0) {
             return;
         }
-        double weightedRating = calculateWeightedRating(ratings);
-        int restaurantId = ratings.get(0).getRestaurantId();
-        Restaurant restaurant = restaurantService.get(restaurantId);
-        restaurant.setAvarageRating((int)weightedRating);
-    }
-    
-    private double calculateWeightedRating(List<Rating> ratings) {
-        if (ratings == null || ratings.isEmpty()) {
-            return 0.0;
-        }
-        double weightedSum = 0;
-        double totalWeight = 0;
-        for (int i = 0; i < ratings.size(); i++) {
-            double weight = i + 1;
-            weightedSum += ratings.get(i).getRatingNumber() * weight;
-            totalWeight += weight;
-        }
-        return weightedSum / totalWeight;
+        restaurantService.updateRating(aggregate.getRestaurantId(), aggregate.getWeightedAverage());
     }
 }
@@ -0,0 +1,128 @@
+package lld.resturantrating.storage;
+
+import lld.resturantrating.customer.model.Customer;
+import lld.resturantrating.customer.model.Gender;
+import lld.resturantrating.rateing.model.Rating;
+import lld.resturantrating.restaurant.model.Restaurant;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Binary layouts of the stored entities. Derived state (a restaurant's rating score) is
+// not stored; it is rebuilt from the ratings on restore.
+public final class RecordCodec {
+    private RecordCodec() {
+    }
+
+    public static ByteBuffer encode(Restaurant restaurant) {
+        List<String> pinCodes = restaurant.getServiceablePinCode() == null ? List.of() : restaurant.getServiceablePinCode();
+        int size = 4 + 4 + 8 + 8 + 1 + stringBytes(restaurant.getName()) + stringBytes(restaurant.getFood()) + 4;
+        for (String pinCode : pinCodes) {
+            size += stringBytes(pinCode);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(restaurant.getId());
+        buffer.putInt(restaurant.getPrice());
+        buffer.putDouble(restaurant.getLatitude());
+        buffer.putDouble(restaurant.getLongitude());
+        buffer.put((byte) (restaurant.isOpen() ? 1 : 0));
+        putString(buffer, restaurant.getName());
+        putString(buffer, restaurant.getFood());
+        buffer.putInt(pinCodes.size());
+        for (String pinCode : pinCodes) {
+            putString(buffer, pinCode);
+        }
+        return buffer.flip();
+    }
+
+    public static Restaurant decodeRestaurant(ByteBuffer buffer) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(buffer.getInt());
+        restaurant.setPrice(buffer.getInt());
+        restaurant.setLocation(buffer.getDouble(), buffer.getDouble());
+        restaurant.setOpen(buffer.get() == 1);
+        restaurant.setName(getString(buffer));
+        restaurant.setFood(getString(buffer));
+        int pinCodeCount = buffer.getInt();
+        List<String> pinCodes = new ArrayList<>(pinCodeCount);
+        for (int i = 0; i < pinCodeCount; i++) {
+            pinCodes.add(getString(buffer));
+        }
+        restaurant.setServiceablePinCode(pinCodes);
+        return restaurant;
+    }
+
+    public static ByteBuffer encode(Customer customer) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 1 + stringBytes(customer.getName()) + stringBytes(customer.getMobileNo())
+                + stringBytes(customer.getPinCode()) + 8);
+        buffer.putInt(customer.getId());
+        buffer.put((byte) (customer.getGender() == null ? -1 : customer.getGender().ordinal()));
+        putString(buffer, customer.getName());
+        putString(buffer, customer.getMobileNo());
+        putString(buffer, customer.getPinCode());
+        buffer.putLong(customer.getRegisteredAt());
+        return buffer.flip();
+    }
+
+    public static Customer decodeCustomer(ByteBuffer buffer) {
+        Customer customer = new Customer();
+        customer.setId(buffer.getInt());
+        byte gender = buffer.get();
+        customer.setGender(gender < 0 ? null : Gender.values()[gender]);
+        customer.setName(getString(buffer));
+        customer.setMobileNo(getString(buffer));
+        customer.setPinCode(getString(buffer));
+        // Records written before registration times were stored count as long-standing accounts
+        customer.setRegisteredAt(buffer.remaining() >= 8 ? buffer.getLong() : 0L);
+        return customer;
+    }
+
+    public static ByteBuffer encode(Rating rating) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 4 + 4 + 4 + 8 + stringBytes(rating.getDescriptions()));
+        buffer.putInt(rating.getId());
+        buffer.putInt(rating.getCustomerId());
+        buffer.putInt(rating.getRestaurantId());
+        buffer.putInt(rating.getRatingNumber());
+        buffer.putLong(rating.getTimestamp());
+        putString(buffer, rating.getDescriptions());
+        return buffer.flip();
+    }
+
+    public static Rating decodeRating(ByteBuffer buffer) {
+        Rating rating = new Rating();
+        rating.setId(buffer.getInt());
+        rating.setCustomerId(buffer.getInt());
+        rating.setRestaurantId(buffer.getInt());
+        rating.setRatingNumber(buffer.getInt());
+        rating.setTimestamp(buffer.getLong());
+        rating.setDescriptions(getString(buffer));
+        return rating;
+    }
+
+    // Length-prefixed UTF-8; length -1 stands for null
+    private static int stringBytes(String value) {
+        return 4 + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
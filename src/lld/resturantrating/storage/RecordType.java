@@ -0,0 +1,27 @@
+package lld.resturantrating.storage;
+
+// Kind of entity a stored record holds; the code is the byte written in each record header
+public enum RecordType {
+    RESTAURANT((byte) 1),
+    CUSTOMER((byte) 2),
+    RATING((byte) 3);
+
+    private final byte code;
+
+    RecordType(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static RecordType fromCode(byte code) {
+        for (RecordType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown record type " + code);
+    }
+}
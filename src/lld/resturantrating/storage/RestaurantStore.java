@@ -0,0 +1,106 @@
+package lld.resturantrating.storage;
+
+import lld.resturantrating.customer.model.Customer;
+import lld.resturantrating.rateing.model.Rating;
+import lld.resturantrating.restaurant.model.Restaurant;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Typed persistence for restaurants, customers and ratings on top of a SegmentStore.
+// Restaurants and customers are keyed by id and the latest save wins. Ratings are an
+// append-only history: each save gets the next key of a store-owned sequence, so ratings
+// are never overwritten whatever (if any) ids the callers gave them.
+public class RestaurantStore implements AutoCloseable {
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    private final SegmentStore segments;
+    // Key of the next rating saved; continues after the highest key already stored
+    private final AtomicInteger nextRatingKey;
+
+    private RestaurantStore(SegmentStore segments) {
+        this.segments = segments;
+        int[] highest = {-1};
+        segments.forEach(RecordType.RATING, (key, payload) -> highest[0] = Math.max(highest[0], key));
+        this.nextRatingKey = new AtomicInteger(highest[0] + 1);
+    }
+
+    public static RestaurantStore open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_BYTES);
+    }
+
+    public static RestaurantStore open(Path directory, int segmentBytes) throws IOException {
+        return new RestaurantStore(SegmentStore.open(directory, segmentBytes));
+    }
+
+    public void saveRestaurant(Restaurant restaurant) {
+        segments.put(RecordType.RESTAURANT, restaurant.getId(), RecordCodec.encode(restaurant));
+    }
+
+    public void deleteRestaurant(int id) {
+        segments.delete(RecordType.RESTAURANT, id);
+    }
+
+    public Restaurant loadRestaurant(int id) {
+        ByteBuffer payload = segments.get(RecordType.RESTAURANT, id);
+        return payload == null ? null : RecordCodec.decodeRestaurant(payload);
+    }
+
+    public void saveCustomer(Customer customer) {
+        segments.put(RecordType.CUSTOMER, customer.getId(), RecordCodec.encode(customer));
+    }
+
+    public void saveRating(Rating rating) {
+        int key = nextRatingKey.getAndIncrement();
+        if (key < 0) {
+            throw new IllegalStateException("Rating key space exhausted");
+        }
+        segments.put(RecordType.RATING, key, RecordCodec.encode(rating));
+    }
+
+    public void forEachRestaurant(Consumer<Restaurant> consumer) {
+        segments.forEach(RecordType.RESTAURANT, (id, payload) -> consumer.accept(RecordCodec.decodeRestaurant(payload)));
+    }
+
+    public void forEachCustomer(Consumer<Customer> consumer) {
+        segments.forEach(RecordType.CUSTOMER, (id, payload) -> consumer.accept(RecordCodec.decodeCustomer(payload)));
+    }
+
+    // In the order the ratings were saved, which the index-weighted strategy depends on
+    public void forEachRating(Consumer<Rating> consumer) {
+        segments.forEach(RecordType.RATING, (id, payload) -> consumer.accept(RecordCodec.decodeRating(payload)));
+    }
+
+    public int count(RecordType type) {
+        return segments.size(type);
+    }
+
+    public void flush() {
+        segments.flush();
+    }
+
+    public long compact() {
+        return segments.compact();
+    }
+
+    public double garbageRatio() {
+        return segments.garbageRatio();
+    }
+
+    public long diskBytes() {
+        return segments.diskBytes();
+    }
+
+    public void scheduleMaintenance(long period, TimeUnit unit, double garbageThreshold) {
+        segments.scheduleMaintenance(period, unit, garbageThreshold);
+    }
+
+    @Override
+    public void close() {
+        segments.close();
+    }
+}
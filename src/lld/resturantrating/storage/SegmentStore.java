@@ -0,0 +1,402 @@
+package lld.resturantrating.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+// Append-only key/value log split into fixed-size, memory-mapped segment files.
+// Every put or delete appends a record; an in-memory index maps (type, key) to the latest
+// record. Opening a store maps the segments and scans every record to rebuild the index:
+// the header, plus a CRC pass over the payload to detect torn writes. Payloads are only
+// decoded from the mapping on demand. Superseded records stay on disk
+// until compaction copies the live records of the sealed segments into fresh ones.
+//
+// Record layout: size(4) type(1) flags(1) key(4) seq(8) crc(4) payload, where size covers
+// the whole record. The size is written last and the unused tail of a segment is zeroes,
+// so recovery stops at the first zero size, or at a record whose CRC doesn't match (a torn
+// write).
+// seq increases with every write and decides which record wins when the same key shows up
+// in several segments, since compaction output gets newer file names than the data it holds.
+public class SegmentStore implements AutoCloseable {
+    private static final int HEADER_BYTES = 22;
+    private static final byte LIVE = 0;
+    private static final byte TOMBSTONE = 1;
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    // (type << 32 | key) -> (segment id << 32 | offset) of the latest live record
+    private final Map<Long, Long> index = new HashMap<>();
+    private Segment active;
+    private long nextSeq = 1;
+    private ScheduledExecutorService maintenance;
+
+    private SegmentStore(Path directory, int segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+    }
+
+    public static SegmentStore open(Path directory, int segmentBytes) throws IOException {
+        Files.createDirectories(directory);
+        SegmentStore store = new SegmentStore(directory, segmentBytes);
+        store.recover();
+        return store;
+    }
+
+    public synchronized void put(RecordType type, int key, ByteBuffer payload) {
+        long recordKey = recordKey(type, key);
+        long location = append(type, LIVE, key, payload);
+        Long previous = index.put(recordKey, location);
+        if (previous != null) {
+            release(previous);
+        }
+    }
+
+    public synchronized void delete(RecordType type, int key) {
+        Long previous = index.remove(recordKey(type, key));
+        if (previous != null) {
+            append(type, TOMBSTONE, key, ByteBuffer.allocate(0));
+            release(previous);
+        }
+    }
+
+    // Read-only view of the stored value, or null
+    public synchronized ByteBuffer get(RecordType type, int key) {
+        Long location = index.get(recordKey(type, key));
+        return location == null ? null : payloadAt(location);
+    }
+
+    public synchronized int size(RecordType type) {
+        int size = 0;
+        for (long recordKey : index.keySet()) {
+            if ((byte) (recordKey >>> 32) == type.getCode()) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    // Live values of one type in the order they were written
+    public synchronized void forEach(RecordType type, BiConsumer<Integer, ByteBuffer> consumer) {
+        List<long[]> records = new ArrayList<>();
+        for (Map.Entry<Long, Long> entry : index.entrySet()) {
+            if ((byte) (entry.getKey() >>> 32) == type.getCode()) {
+                records.add(new long[]{seqAt(entry.getValue()), entry.getValue(), entry.getKey()});
+            }
+        }
+        records.sort(Comparator.comparingLong(record -> record[0]));
+        for (long[] record : records) {
+            consumer.accept((int) record[2], payloadAt(record[1]));
+        }
+    }
+
+    // Forces written records to disk; until then they live in the page cache
+    public synchronized void flush() {
+        for (Segment segment : segments.values()) {
+            segment.flush();
+        }
+    }
+
+    // Share of bytes in sealed segments that belong to superseded or deleted records
+    public synchronized double garbageRatio() {
+        long written = 0;
+        long live = 0;
+        for (Segment segment : segments.values()) {
+            if (segment != active) {
+                written += segment.writePosition;
+                live += segment.liveBytes;
+            }
+        }
+        return written == 0 ? 0.0 : 1.0 - (double) live / written;
+    }
+
+    public synchronized long diskBytes() {
+        long bytes = 0;
+        for (Segment segment : segments.values()) {
+            bytes += segment.writePosition;
+        }
+        return bytes;
+    }
+
+    // Copies the live records of every sealed segment into new segments, then deletes the
+    // old files. Writers wait meanwhile. New files are forced before old ones are deleted,
+    // so a crash in between only leaves duplicate records with equal seq.
+    // Returns the number of bytes reclaimed.
+    public synchronized long compact() {
+        List<Segment> sealed = new ArrayList<>();
+        for (Segment segment : segments.values()) {
+            if (segment != active) {
+                sealed.add(segment);
+            }
+        }
+        if (sealed.isEmpty()) {
+            return 0;
+        }
+        long before = diskBytes();
+        Set<Integer> sealedIds = new HashSet<>();
+        for (Segment segment : sealed) {
+            sealedIds.add(segment.id);
+        }
+        Segment output = null;
+        List<Segment> outputs = new ArrayList<>();
+        for (Map.Entry<Long, Long> entry : index.entrySet()) {
+            long location = entry.getValue();
+            Segment source = segments.get(segmentId(location));
+            if (!sealedIds.contains(source.id)) {
+                continue;
+            }
+            int offset = offset(location);
+            int recordBytes = source.buffer.getInt(offset);
+            if (output == null || output.writePosition + recordBytes > segmentBytes) {
+                output = createSegment();
+                outputs.add(output);
+            }
+            int newOffset = output.writePosition;
+            output.buffer.put(newOffset, source.buffer, offset, recordBytes);
+            output.writePosition += recordBytes;
+            output.dirty = true;
+            output.liveBytes += recordBytes;
+            entry.setValue(location(output.id, newOffset));
+        }
+        for (Segment segment : outputs) {
+            segment.flush();
+        }
+        for (Segment segment : sealed) {
+            segments.remove(segment.id);
+            segment.delete();
+        }
+        return before - diskBytes();
+    }
+
+    // Flushes and, when the sealed segments are more than garbageThreshold garbage,
+    // compacts them, every period on a background thread
+    public synchronized void scheduleMaintenance(long period, TimeUnit unit, double garbageThreshold) {
+        if (maintenance != null) {
+            return;
+        }
+        maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "segment-store-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.scheduleWithFixedDelay(() -> {
+            flush();
+            if (garbageRatio() > garbageThreshold) {
+                compact();
+            }
+        }, period, period, unit);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+        flush();
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+        segments.clear();
+        index.clear();
+    }
+
+    private long append(RecordType type, byte flags, int key, ByteBuffer payload) {
+        int length = payload.remaining();
+        int recordBytes = HEADER_BYTES + length;
+        if (recordBytes > segmentBytes) {
+            throw new IllegalArgumentException("Record of " + recordBytes + " bytes exceeds segment size " + segmentBytes);
+        }
+        if (active == null || active.writePosition + recordBytes > segmentBytes) {
+            active = createSegment();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        MappedByteBuffer buffer = active.buffer;
+        int offset = active.writePosition;
+        buffer.put(offset + 4, type.getCode());
+        buffer.put(offset + 5, flags);
+        buffer.putInt(offset + 6, key);
+        buffer.putLong(offset + 10, nextSeq++);
+        buffer.putInt(offset + 18, (int) crc.getValue());
+        buffer.put(offset + HEADER_BYTES, payload, payload.position(), length);
+        // Size last: until it is non-zero the record doesn't exist for recovery
+        buffer.putInt(offset, recordBytes);
+        active.writePosition += recordBytes;
+        active.dirty = true;
+        if (flags == LIVE) {
+            active.liveBytes += recordBytes;
+        }
+        return location(active.id, offset);
+    }
+
+    private void release(long location) {
+        Segment segment = segments.get(segmentId(location));
+        segment.liveBytes -= segment.buffer.getInt(offset(location));
+    }
+
+    private ByteBuffer payloadAt(long location) {
+        Segment segment = segments.get(segmentId(location));
+        int offset = offset(location);
+        int length = segment.buffer.getInt(offset) - HEADER_BYTES;
+        return segment.buffer.slice(offset + HEADER_BYTES, length).asReadOnlyBuffer();
+    }
+
+    private long seqAt(long location) {
+        return segments.get(segmentId(location)).buffer.getLong(offset(location) + 10);
+    }
+
+    private void recover() throws IOException {
+        List<Integer> ids = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                ids.add(Integer.parseInt(name.substring(0, name.length() - SUFFIX.length())));
+            }
+        }
+        Collections.sort(ids);
+        // Seq of deletes seen so far, so an older live record found later can't resurrect a key
+        Map<Long, Long> deletedSeq = new HashMap<>();
+        for (int id : ids) {
+            Segment segment = mapSegment(id);
+            segments.put(id, segment);
+            scan(segment, deletedSeq);
+        }
+        for (long location : index.values()) {
+            Segment segment = segments.get(segmentId(location));
+            segment.liveBytes += segment.buffer.getInt(offset(location));
+        }
+        // The first write opens a fresh segment rather than appending after a possibly torn
+        // tail, whose stale bytes could otherwise line up with new records
+        active = null;
+    }
+
+    // Replays one segment's records into the index; the record with the highest seq wins
+    private void scan(Segment segment, Map<Long, Long> deletedSeq) {
+        MappedByteBuffer buffer = segment.buffer;
+        int offset = 0;
+        CRC32 crc = new CRC32();
+        while (offset + HEADER_BYTES <= segmentBytes) {
+            int recordBytes = buffer.getInt(offset);
+            if (recordBytes < HEADER_BYTES || offset + recordBytes > segmentBytes) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(offset + HEADER_BYTES, recordBytes - HEADER_BYTES));
+            if ((int) crc.getValue() != buffer.getInt(offset + 18)) {
+                break;
+            }
+            long recordKey = recordKey(buffer.get(offset + 4), buffer.getInt(offset + 6));
+            long seq = buffer.getLong(offset + 10);
+            nextSeq = Math.max(nextSeq, seq + 1);
+            Long existing = index.get(recordKey);
+            Long deleted = deletedSeq.isEmpty() ? null : deletedSeq.get(recordKey);
+            if ((existing == null || seq >= seqAt(existing)) && (deleted == null || seq >= deleted)) {
+                if (buffer.get(offset + 5) == TOMBSTONE) {
+                    index.remove(recordKey);
+                    deletedSeq.put(recordKey, seq);
+                } else {
+                    index.put(recordKey, location(segment.id, offset));
+                    if (deleted != null) {
+                        deletedSeq.remove(recordKey);
+                    }
+                }
+            }
+            offset += recordBytes;
+        }
+        segment.writePosition = offset;
+    }
+
+    private Segment createSegment() {
+        int id = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        try {
+            Segment segment = mapSegment(id);
+            segments.put(id, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Segment mapSegment(int id) throws IOException {
+        Path file = directory.resolve(String.format("%010d%s", id, SUFFIX));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segment(id, file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes));
+    }
+
+    private static long recordKey(RecordType type, int key) {
+        return recordKey(type.getCode(), key);
+    }
+
+    private static long recordKey(byte type, int key) {
+        return ((long) type << 32) | (key & 0xFFFFFFFFL);
+    }
+
+    private static long location(int segmentId, int offset) {
+        return ((long) segmentId << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static int segmentId(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int offset(long location) {
+        return (int) location;
+    }
+
+    private static class Segment {
+        final int id;
+        final Path file;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        int writePosition;
+        // Bytes of records the index still points at
+        long liveBytes;
+        boolean dirty;
+
+        Segment(int id, Path file, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        void flush() {
+            if (dirty) {
+                buffer.force();
+                dirty = false;
+            }
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // The mapping itself is released when the buffer is collected; on Linux the file can
+        // be unlinked while still mapped
+        void delete() {
+            close();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -8,10 +8,12 @@ public enum Coin {
     DOLLAR(1.00, "$1");
 
     private double value;
+    private int cents;
     private String displayName;
 
     Coin(double value, String displayName) {
         this.value = value;
+        this.cents = (int) Math.round(value * 100);
         this.displayName = displayName;
     }
 
@@ -19,6 +21,10 @@ public enum Coin {
         return value;
     }
 
+    public int getCents() {
+        return cents;
+    }
+
     public String getDisplayName() {
         return displayName;
     }
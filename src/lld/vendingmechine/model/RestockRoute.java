@@ -0,0 +1,34 @@
+package lld.vendingmechine.model;
+
+import java.util.List;
+
+public class RestockRoute {
+    private final int vehicle;
+    private final List<RestockStop> stops;
+    private final double distance;
+    private final int units;
+
+    public RestockRoute(int vehicle, List<RestockStop> stops, double distance, int units) {
+        this.vehicle = vehicle;
+        this.stops = stops;
+        this.distance = distance;
+        this.units = units;
+    }
+
+    public int getVehicle() {
+        return vehicle;
+    }
+
+    public List<RestockStop> getStops() {
+        return stops;
+    }
+
+    // Depot -> stops -> depot
+    public double getDistance() {
+        return distance;
+    }
+
+    public int getUnits() {
+        return units;
+    }
+}
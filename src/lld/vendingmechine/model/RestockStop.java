@@ -0,0 +1,38 @@
+package lld.vendingmechine.model;
+
+public class RestockStop {
+    private final int machineId;
+    private final double x;
+    private final double y;
+    private final int units;
+    private final double hoursUntilStockout;
+
+    public RestockStop(int machineId, double x, double y, int units, double hoursUntilStockout) {
+        this.machineId = machineId;
+        this.x = x;
+        this.y = y;
+        this.units = units;
+        this.hoursUntilStockout = hoursUntilStockout;
+    }
+
+    public int getMachineId() {
+        return machineId;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public int getUnits() {
+        return units;
+    }
+
+    // Earliest projected stockout across the machine's slots
+    public double getHoursUntilStockout() {
+        return hoursUntilStockout;
+    }
+}
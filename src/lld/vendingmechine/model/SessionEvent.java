@@ -0,0 +1,58 @@
+package lld.vendingmechine.model;
+
+public class SessionEvent {
+    private final int machineId;
+    private final long sessionId;
+    private final SessionEventType type;
+    private final int slotId;
+    private final Coin coin;
+
+    public SessionEvent(int machineId, long sessionId, SessionEventType type, int slotId, Coin coin) {
+        this.machineId = machineId;
+        this.sessionId = sessionId;
+        this.type = type;
+        this.slotId = slotId;
+        this.coin = coin;
+    }
+
+    public int getMachineId() {
+        return machineId;
+    }
+
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    public SessionEventType getType() {
+        return type;
+    }
+
+    public int getSlotId() {
+        return slotId;
+    }
+
+    // Only set for COIN_INSERTED
+    public Coin getCoin() {
+        return coin;
+    }
+
+    // One text line per event: machineId,sessionId,TYPE,slotId,COIN or -
+    public String encode() {
+        return machineId + "," + sessionId + "," + type + "," + slotId + "," + (coin == null ? "-" : coin.name());
+    }
+
+    public static SessionEvent decode(String line) {
+        String[] parts = line.split(",");
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("Malformed session event: " + line);
+        }
+        return new SessionEvent(Integer.parseInt(parts[0]), Long.parseLong(parts[1]),
+                SessionEventType.valueOf(parts[2]), Integer.parseInt(parts[3]),
+                "-".equals(parts[4]) ? null : Coin.valueOf(parts[4]));
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
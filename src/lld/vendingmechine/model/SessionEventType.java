@@ -0,0 +1,11 @@
+package lld.vendingmechine.model;
+
+public enum SessionEventType {
+    SELECTED,
+    COIN_INSERTED,
+    // Logged before the dispense command runs; without a DISPENSED or REFUNDED after it,
+    // the item may or may not have left the machine
+    DISPENSING,
+    DISPENSED,
+    REFUNDED;
+}
@@ -1,10 +1,14 @@
 package lld.vendingmechine.model;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class Slot {
     private int id;
     private Product product;
     private int capacity;
-    private int currentQuantity;
+    // Items on the shelf that are free to sell; reserved items are already taken out
+    private final AtomicInteger currentQuantity = new AtomicInteger();
+    private final AtomicInteger reservedQuantity = new AtomicInteger();
     private boolean isOperational;
     private SlotState state;
 
@@ -33,11 +37,66 @@ public class Slot {
     }
 
     public int getCurrentQuantity() {
-        return currentQuantity;
+        return currentQuantity.get();
     }
 
     public void setCurrentQuantity(int currentQuantity) {
-        this.currentQuantity = currentQuantity;
+        this.currentQuantity.set(currentQuantity);
+    }
+
+    public int getReservedQuantity() {
+        return reservedQuantity.get();
+    }
+
+    // CAS decrement that never goes below zero; returns the quantity left, or -1 if empty
+    public int tryTakeOne() {
+        while (true) {
+            int quantity = currentQuantity.get();
+            if (quantity <= 0) {
+                return -1;
+            }
+            if (currentQuantity.compareAndSet(quantity, quantity - 1)) {
+                return quantity - 1;
+            }
+        }
+    }
+
+    public int returnOne() {
+        return currentQuantity.incrementAndGet();
+    }
+
+    // Adds stock without exceeding capacity; safe against concurrent dispenses
+    public int restock(int quantity) {
+        return currentQuantity.updateAndGet(current -> Math.min(capacity, current + quantity));
+    }
+
+    public boolean tryReserve() {
+        if (tryTakeOne() < 0) {
+            return false;
+        }
+        reservedQuantity.incrementAndGet();
+        return true;
+    }
+
+    // Hands a reserved item over for dispensing; false if nothing was reserved
+    public boolean commitReservation() {
+        while (true) {
+            int reserved = reservedQuantity.get();
+            if (reserved <= 0) {
+                return false;
+            }
+            if (reservedQuantity.compareAndSet(reserved, reserved - 1)) {
+                return true;
+            }
+        }
+    }
+
+    public boolean releaseReservation() {
+        if (!commitReservation()) {
+            return false;
+        }
+        returnOne();
+        return true;
     }
 
     public boolean isOperational() {
@@ -3,59 +3,145 @@ package lld.vendingmechine.service;
 import lld.vendingmechine.model.Coin;
 
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class ChangeService {
+    // Largest coin first; computed once instead of sorting Coin.values() per call
+    private static final Coin[] COINS_BY_VALUE = Arrays.stream(Coin.values())
+            .sorted(Comparator.comparingInt(Coin::getCents).reversed())
+            .toArray(Coin[]::new);
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
 
-    private Map<Coin, Integer> availableCoins;
+    // Coin counts indexed by ordinal
+    private final int[] availableCoins = new int[Coin.values().length];
+
+    // Scratch tables reused across calls; they only grow when a larger amount shows up
+    private int[] minCoins = new int[0];
+    private boolean[][] usedItem = new boolean[0][];
+    private int[] itemCoin = new int[0];
+    private int[] itemCount = new int[0];
 
     public ChangeService() {
         // Initialize with some coins
-        availableCoins = new HashMap<>();
-        availableCoins.put(Coin.DOLLAR, 20);
-        availableCoins.put(Coin.QUARTER, 40);
-        availableCoins.put(Coin.DIME, 50);
-        availableCoins.put(Coin.NICKEL, 40);
-        availableCoins.put(Coin.PENNY, 100);
+        availableCoins[Coin.DOLLAR.ordinal()] = 20;
+        availableCoins[Coin.QUARTER.ordinal()] = 40;
+        availableCoins[Coin.DIME.ordinal()] = 50;
+        availableCoins[Coin.NICKEL.ordinal()] = 40;
+        availableCoins[Coin.PENNY.ordinal()] = 100;
     }
 
     public Map<Coin, Integer> calculateChange(double amount) {
+        return calculateChange((int) Math.round(amount * 100));
+    }
+
+    // Fewest coins that add up to exactly amountCents with the coins in stock. Coins are
+    // taken out of stock only when exact change exists; otherwise an empty map is
+    // returned and the inventory is untouched.
+    public Map<Coin, Integer> calculateChange(int amountCents) {
         Map<Coin, Integer> change = new LinkedHashMap<>();
-        double remainingAmount = amount;
-
-        // Sort coins by value (descending)
-        Coin[] sortedCoins = Coin.values();
-        Arrays.sort(sortedCoins, (a, b) -> Double.compare(b.getValue(), a.getValue()));
-
-        for (Coin coin : sortedCoins) {
-            if (remainingAmount >= coin.getValue()) {
-                int count = (int) (remainingAmount / coin.getValue());
-                int availableCount = availableCoins.getOrDefault(coin, 0);
-                int useCount = Math.min(count, availableCount);
-
-                if (useCount > 0) {
-                    change.put(coin, useCount);
-                    remainingAmount -= useCount * coin.getValue();
-                    availableCoins.put(coin, availableCount - useCount);
+        if (amountCents <= 0) {
+            return change;
+        }
+        int[] plan = planChange(amountCents);
+        if (plan == null) {
+            System.out.println("Warning: Cannot make exact change for $" + String.format("%.2f", amountCents / 100.0));
+            return change;
+        }
+        for (Coin coin : COINS_BY_VALUE) {
+            int count = plan[coin.ordinal()];
+            if (count > 0) {
+                availableCoins[coin.ordinal()] -= count;
+                change.put(coin, count);
+            }
+        }
+        return change;
+    }
+
+    // Bounded coin change as a 0/1 knapsack: each coin's stock is split into binary
+    // bundles (1, 2, 4, ..., rest), so the table is O(amount * sum(log count)).
+    private int[] planChange(int amountCents) {
+        int items = buildItems();
+        ensureCapacity(amountCents, items);
+
+        Arrays.fill(minCoins, 0, amountCents + 1, UNREACHABLE);
+        minCoins[0] = 0;
+        for (int item = 0; item < items; item++) {
+            int coinCount = itemCount[item];
+            int value = COINS_BY_VALUE[itemCoin[item]].getCents() * coinCount;
+            boolean[] used = usedItem[item];
+            Arrays.fill(used, 0, amountCents + 1, false);
+            for (int amount = amountCents; amount >= value; amount--) {
+                int previous = minCoins[amount - value];
+                if (previous != UNREACHABLE && previous + coinCount < minCoins[amount]) {
+                    minCoins[amount] = previous + coinCount;
+                    used[amount] = true;
                 }
             }
         }
+        if (minCoins[amountCents] == UNREACHABLE) {
+            return null;
+        }
 
-        if (Math.abs(remainingAmount) > 0.01) {
-            System.out.println("Warning: Cannot make exact change. Missing: $" +
-                    String.format("%.2f", remainingAmount));
+        int[] plan = new int[availableCoins.length];
+        int remaining = amountCents;
+        for (int item = items - 1; item >= 0 && remaining > 0; item--) {
+            if (usedItem[item][remaining]) {
+                Coin coin = COINS_BY_VALUE[itemCoin[item]];
+                plan[coin.ordinal()] += itemCount[item];
+                remaining -= coin.getCents() * itemCount[item];
+            }
         }
+        return plan;
+    }
 
-        return change;
+    private int buildItems() {
+        int items = 0;
+        for (int c = 0; c < COINS_BY_VALUE.length; c++) {
+            int stock = availableCoins[COINS_BY_VALUE[c].ordinal()];
+            for (int bundle = 1; stock > 0; bundle <<= 1) {
+                int size = Math.min(bundle, stock);
+                if (items == itemCoin.length) {
+                    itemCoin = Arrays.copyOf(itemCoin, Math.max(8, items * 2));
+                    itemCount = Arrays.copyOf(itemCount, itemCoin.length);
+                }
+                itemCoin[items] = c;
+                itemCount[items] = size;
+                items++;
+                stock -= size;
+            }
+        }
+        return items;
+    }
+
+    private void ensureCapacity(int amountCents, int items) {
+        int width = Math.max(minCoins.length, amountCents + 1);
+        if (width > minCoins.length) {
+            minCoins = new int[width];
+            for (int i = 0; i < usedItem.length; i++) {
+                usedItem[i] = new boolean[width];
+            }
+        }
+        if (items > usedItem.length) {
+            int previous = usedItem.length;
+            usedItem = Arrays.copyOf(usedItem, items);
+            for (int i = previous; i < items; i++) {
+                usedItem[i] = new boolean[width];
+            }
+        }
     }
 
     public void addCoins(Coin coin, int count) {
-        availableCoins.merge(coin, count, Integer::sum);
+        availableCoins[coin.ordinal()] += count;
     }
 
     public Map<Coin, Integer> getAvailableCoins() {
-        return new HashMap<>(availableCoins);
+        Map<Coin, Integer> coins = new EnumMap<>(Coin.class);
+        for (Coin coin : Coin.values()) {
+            coins.put(coin, availableCoins[coin.ordinal()]);
+        }
+        return coins;
     }
 }
@@ -0,0 +1,52 @@
+package lld.vendingmechine.service;
+
+import lld.vendingmechine.model.Coin;
+
+import java.util.Map;
+import java.util.Random;
+
+public class ChangeServiceBenchmark {
+    private static final int TRANSACTIONS = 1_000_000;
+
+    public static void main(String[] args) {
+        // Greedy would fail here: no nickels, so 30 cents needs three dimes rather than a quarter
+        ChangeService noNickels = new ChangeService();
+        noNickels.addCoins(Coin.NICKEL, -noNickels.getAvailableCoins().get(Coin.NICKEL));
+        noNickels.addCoins(Coin.PENNY, -noNickels.getAvailableCoins().get(Coin.PENNY));
+        System.out.println("30 cents without nickels/pennies: " + noNickels.calculateChange(30));
+        System.out.println("Impossible 3 cents leaves stock untouched: " + noNickels.calculateChange(3).isEmpty()
+                + ", stock " + noNickels.getAvailableCoins());
+
+        ChangeService changeService = new ChangeService();
+        Random random = new Random(11);
+        int[] amounts = new int[TRANSACTIONS];
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            amounts[i] = random.nextInt(500);
+        }
+
+        for (int i = 0; i < 100_000; i++) {
+            runOne(changeService, amounts[i]);
+        }
+
+        long coinsReturned = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            coinsReturned += runOne(changeService, amounts[i]);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println("Transactions: " + TRANSACTIONS + ", coins returned: " + coinsReturned);
+        System.out.println("Change latency: " + String.format("%.0f", elapsed / (double) TRANSACTIONS) + " ns/transaction");
+    }
+
+    // Takes the change out and puts it straight back so the stock stays steady
+    private static int runOne(ChangeService changeService, int amountCents) {
+        Map<Coin, Integer> change = changeService.calculateChange(amountCents);
+        int coins = 0;
+        for (Map.Entry<Coin, Integer> entry : change.entrySet()) {
+            changeService.addCoins(entry.getKey(), entry.getValue());
+            coins += entry.getValue();
+        }
+        return coins;
+    }
+}
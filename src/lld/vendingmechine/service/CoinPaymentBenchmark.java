@@ -0,0 +1,45 @@
+package lld.vendingmechine.service;
+
+import lld.vendingmechine.model.Coin;
+
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+
+public class CoinPaymentBenchmark {
+    private static final int INSERTS = 50_000_000;
+
+    public static void main(String[] args) {
+        CoinPaymentStrategy strategy = new CoinPaymentStrategy();
+        Coin[] coins = Coin.values();
+
+        // Warm up so the measured loop runs compiled code
+        runInserts(strategy, coins, 5_000_000);
+
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long checksum = runInserts(strategy, coins, INSERTS);
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.println("Coin inserts: " + INSERTS + " (checksum " + checksum + ")");
+        System.out.println("Latency: " + String.format("%.2f", elapsed / (double) INSERTS) + " ns/insert");
+        System.out.println("Allocated: " + allocated + " bytes total, "
+                + String.format("%.4f", allocated / (double) INSERTS) + " bytes/insert");
+    }
+
+    // A purchase is a handful of inserts followed by a clear, like a real session
+    private static long runInserts(CoinPaymentStrategy strategy, Coin[] coins, int inserts) {
+        long checksum = 0;
+        for (int i = 0; i < inserts; i++) {
+            strategy.insertCoin(coins[i % coins.length]);
+            if ((i & 7) == 7) {
+                checksum += strategy.getTotalCents();
+                strategy.clearInsertedCoins();
+            }
+        }
+        return checksum;
+    }
+}
@@ -6,42 +6,70 @@ import lld.vendingmechine.model.PaymentInfo;
 import lld.vendingmechine.model.PaymentResult;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 public class CoinPaymentStrategy implements PaymentStrategy{
-    private List<Coin> insertedCoins=new ArrayList<>();
-    public double totalAmount=0.0;
+    private static final Coin[] COINS = Coin.values();
+    // Accepted denominations by ordinal; a lookup instead of scanning Coin.values() per insert
+    private static final boolean[] ACCEPTED = new boolean[COINS.length];
 
+    static {
+        for (Coin coin : COINS) {
+            ACCEPTED[coin.ordinal()] = coin.getCents() > 0;
+        }
+    }
+
+    // Inserted coins as per-denomination counters and an integer total, so inserting
+    // a coin is two array/field increments and allocates nothing
+    private final int[] insertedCounts = new int[COINS.length];
+    private int totalCents;
+
+    // Built on demand for refunds and display; not used on the insert path
     public List<Coin> getInsertedCoins() {
-        return insertedCoins;
+        List<Coin> coins = new ArrayList<>();
+        for (Coin coin : COINS) {
+            for (int i = 0; i < insertedCounts[coin.ordinal()]; i++) {
+                coins.add(coin);
+            }
+        }
+        return coins;
+    }
+
+    public int getInsertedCount(Coin coin) {
+        return insertedCounts[coin.ordinal()];
+    }
+
+    public int getTotalCents() {
+        return totalCents;
     }
 
     public double getTotalAmount() {
-        return totalAmount;
+        return totalCents / 100.0;
     }
 
     @Override
     public PaymentResult processPayment(double amount) {
-        if (totalAmount>=amount){
+        int amountCents = (int) Math.round(amount * 100);
+        if (totalCents>=amountCents){
             PaymentResult result=
-                    new PaymentResult(true,amount,amount-totalAmount,0);
-            totalAmount=0;
+                    new PaymentResult(true,amount,(totalCents-amountCents)/100.0,0);
             clearInsertedCoins();
             return result;
         }else {
-            return new PaymentResult(false, totalAmount, amount - totalAmount);
+            return new PaymentResult(false, getTotalAmount(), (amountCents-totalCents)/100.0);
 
         }
     }
     public void clearInsertedCoins() {
-        insertedCoins.clear();
-        totalAmount = 0.0;
+        for (int i = 0; i < insertedCounts.length; i++) {
+            insertedCounts[i] = 0;
+        }
+        totalCents = 0;
     }
     public boolean insertCoin(Coin coin){
         if (validateCoin(coin)){
-            insertedCoins.add(coin);
-            totalAmount+=coin.getValue();
+            insertedCounts[coin.ordinal()]++;
+            totalCents+=coin.getCents();
             return true;
         }
         return false;
@@ -59,9 +87,7 @@ public class CoinPaymentStrategy implements PaymentStrategy{
         return coin!=null &&isValidDenomination(coin);
     }
     private boolean isValidDenomination(Coin coin) {
-        // Check if coin is a valid denomination
-        return Arrays.stream(Coin.values())
-                .anyMatch(validCoin -> validCoin.getValue() == coin.getValue());
+        return ACCEPTED[coin.ordinal()];
     }
 
     @Override
@@ -0,0 +1,87 @@
+package lld.vendingmechine.service;
+
+import lld.vendingmechine.model.Slot;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+// Learns how fast each slot of one machine sells from its dispense events, as an
+// exponentially weighted average of the time between sales, and projects when the
+// slot will run out at that pace.
+public class DepletionTracker implements InventoryObserver {
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+
+    private final InventoryService inventoryService;
+    private final double alpha;
+    private final LongSupplier clock;
+    private final Map<Integer, SlotRate> rates = new ConcurrentHashMap<>();
+
+    public DepletionTracker(InventoryService inventoryService) {
+        this(inventoryService, 0.1, System::currentTimeMillis);
+    }
+
+    public DepletionTracker(InventoryService inventoryService, double alpha, LongSupplier clock) {
+        this.inventoryService = inventoryService;
+        this.alpha = alpha;
+        this.clock = clock;
+    }
+
+    @Override
+    public void onProductDispensed(int slotId) {
+        long now = clock.getAsLong();
+        SlotRate rate = rates.computeIfAbsent(slotId, id -> new SlotRate(now));
+        synchronized (rate) {
+            if (rate.sales > 0) {
+                double interval = now - rate.lastSaleAt;
+                rate.meanIntervalMillis = rate.sales == 1 ? interval
+                        : rate.meanIntervalMillis + alpha * (interval - rate.meanIntervalMillis);
+            }
+            rate.lastSaleAt = now;
+            rate.sales++;
+        }
+    }
+
+    @Override
+    public void onSlotOutOfStock(int slotId) {
+    }
+
+    public double salesPerHour(int slotId) {
+        SlotRate rate = rates.get(slotId);
+        if (rate == null) {
+            return 0.0;
+        }
+        synchronized (rate) {
+            if (rate.sales < 2) {
+                return 0.0;
+            }
+            // A slot that has gone quiet for longer than usual is selling slower than the average says
+            double interval = Math.max(rate.meanIntervalMillis, clock.getAsLong() - rate.lastSaleAt);
+            return interval <= 0 ? 0.0 : MILLIS_PER_HOUR / interval;
+        }
+    }
+
+    // Infinity when the slot has no observed demand
+    public double hoursUntilStockout(int slotId) {
+        Slot slot = inventoryService.getSlot(slotId);
+        if (slot == null || slot.getCurrentQuantity() <= 0) {
+            return 0.0;
+        }
+        double perHour = salesPerHour(slotId);
+        return perHour == 0.0 ? Double.POSITIVE_INFINITY : slot.getCurrentQuantity() / perHour;
+    }
+
+    public InventoryService getInventoryService() {
+        return inventoryService;
+    }
+
+    private static class SlotRate {
+        long lastSaleAt;
+        double meanIntervalMillis;
+        long sales;
+
+        SlotRate(long now) {
+            this.lastSaleAt = now;
+        }
+    }
+}
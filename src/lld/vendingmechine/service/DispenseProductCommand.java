@@ -9,16 +9,27 @@ public class DispenseProductCommand implements Command{
     private Product dispenseProduct;
     private int previousQuantity;
     private boolean executed=false;
+    private boolean fromReservation;
 
     public DispenseProductCommand(InventoryService inventoryService, int slotId) {
+        this(inventoryService, slotId, false);
+    }
+
+    // fromReservation: the item was already reserved when payment completed
+    public DispenseProductCommand(InventoryService inventoryService, int slotId, boolean fromReservation) {
         this.inventoryService = inventoryService;
         this.slotId = slotId;
-        this.dispenseProduct = dispenseProduct;
+        this.fromReservation = fromReservation;
     }
 
     @Override
     public void execute() {
         if(!executed){
+            if (fromReservation) {
+                dispenseProduct = inventoryService.commitReservation(slotId);
+                executed = true;
+                return;
+            }
             if(!inventoryService.isSlotAvailable(slotId)){
                 throw new IllegalStateException("Slot not available");
             }
@@ -36,7 +47,7 @@ public class DispenseProductCommand implements Command{
             // This is a simplified undo - in reality, you'd need to track the previous quantity
             Slot slot = inventoryService.getSlot(slotId);
             if (slot != null) {
-                slot.setCurrentQuantity(slot.getCurrentQuantity() + 1);
+                slot.returnOne();
                 inventoryService.notifyDeepensProduct(slotId);
             }
             executed = false;
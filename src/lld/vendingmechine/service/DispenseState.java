@@ -2,8 +2,10 @@ package lld.vendingmechine.service;
 
 import lld.vendingmechine.model.Coin;
 import lld.vendingmechine.model.Product;
+import lld.vendingmechine.model.SessionEventType;
 import lld.vendingmechine.model.VendingMachineState;
 
+import java.util.List;
 import java.util.Map;
 
 public class DispenseState implements VendingMachineState {
@@ -21,37 +23,80 @@ public class DispenseState implements VendingMachineState {
 
     @Override
     public void dispenseProduct(VendingMachineContext context) {
+        // The payment goes into the coin stock so it can be part of the change; change is
+        // taken out before anything is released, and a sale the machine can't give exact
+        // change for is refunded instead of shortchanging the customer
+        int changeCents = (int) Math.round(context.getPaymentService().getTotalInserted() * 100)
+                - (int) Math.round(context.getSelectedProduct().getPrice() * 100);
+        ChangeService changeService = context.getChangeService();
+        moveInsertedCoins(context, 1);
+        Map<Coin, Integer> change = changeService.calculateChange(changeCents);
+        if (changeCents > 0 && change.isEmpty()) {
+            System.out.println("Sale cancelled and coins refunded");
+            moveInsertedCoins(context, -1);
+            refund(context);
+            return;
+        }
+
+        // Create and execute dispense command through CommandInvoker
+        DispenseProductCommand dispenseCommand = new DispenseProductCommand(
+            context.getInventoryService(), context.getSelectedSlotId(), true);
+        // Intent first: a crash after this is resolved by recovery as a sale, never a refund
+        context.logSessionEvent(SessionEventType.DISPENSING, null);
         try {
-            // Create and execute dispense command through CommandInvoker
-            DispenseProductCommand dispenseCommand = new DispenseProductCommand(
-                context.getInventoryService(), context.getSelectedSlotId());
-            
             context.getCommandInvoker().executeCommand(dispenseCommand);
-            
-            Product dispensedProduct = dispenseCommand.getDispenseProduct();
-            
-            // Fix method name
-            double amountPaid = context.getPaymentService().getTotalInserted();
-            double changeAmount = amountPaid - context.getSelectedProduct().getPrice();
-            
-            if (changeAmount > 0) {
-                Map<Coin, Integer> change = context.getChangeService().calculateChange(changeAmount);
-                System.out.println("Change returned: $" + String.format("%.2f", changeAmount));
+        } catch (Exception e) {
+            System.out.println("Dispensing failed: " + e.getMessage());
+            if (dispenseCommand.getDispenseProduct() == null) {
+                // Nothing left the machine: the change goes back into stock and the payment
+                // back to the customer
+                for (Map.Entry<Coin, Integer> coins : change.entrySet()) {
+                    changeService.addCoins(coins.getKey(), coins.getValue());
+                }
+                moveInsertedCoins(context, -1);
+                refund(context);
+                return;
             }
+            // The item is out, so the sale stands and the change is paid out below
+        }
 
-            System.out.println("Product dispensed: " + dispensedProduct.getName());
+        // Closes the session in the log
+        context.logSessionEvent(SessionEventType.DISPENSED, null);
 
-            // Reset and return to ready state
-            context.resetTransaction();
-            context.setState(new ReadyState());
-            
-        } catch (Exception e) {
-            System.out.println("Dispensing failed: " + e.getMessage());
-            // Refund payment
-            context.getPaymentService().clearInsertedCoins();
-            context.resetTransaction();
-            context.setState(new ReadyState());
+        Product dispensedProduct = dispenseCommand.getDispenseProduct();
+
+        if (!change.isEmpty()) {
+            System.out.println("Change returned: $" + String.format("%.2f", changeCents / 100.0) + " as " + change);
         }
+
+        System.out.println("Product dispensed: " + dispensedProduct.getName());
+
+        // Payment is consumed by this sale; the next session starts from zero
+        context.getPaymentService().clearInsertedCoins();
+
+        // Reset and return to ready state
+        context.resetTransaction();
+        context.setState(new ReadyState());
+    }
+
+    // direction 1 puts the customer's coins into the change stock, -1 takes them back out
+    private void moveInsertedCoins(VendingMachineContext context, int direction) {
+        List<Coin> inserted = context.getPaymentService().getInsertedCoins();
+        if (inserted == null) {
+            return;
+        }
+        for (Coin coin : inserted) {
+            context.getChangeService().addCoins(coin, direction);
+        }
+    }
+
+    // Item never left the machine: put the reservation back on sale and refund the payment
+    private void refund(VendingMachineContext context) {
+        context.getInventoryService().releaseReservation(context.getSelectedSlotId());
+        context.getPaymentService().clearInsertedCoins();
+        context.logSessionEvent(SessionEventType.REFUNDED, null);
+        context.resetTransaction();
+        context.setState(new ReadyState());
     }
 
     @Override
@@ -3,4 +3,6 @@ package lld.vendingmechine.service;
 public interface InventoryObserver {
     void onProductDispensed(int slotId);
     void onSlotOutOfStock(int slotId);
+    default void onSlotRestocked(int slotId) {
+    }
 }
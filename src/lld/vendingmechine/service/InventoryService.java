@@ -4,17 +4,18 @@ import lld.vendingmechine.model.Product;
 import lld.vendingmechine.model.Slot;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class InventoryService {
     private Map<Integer, Slot> slotMap;
     private List<InventoryObserver> observerList;
 
     public InventoryService() {
-        this.slotMap = new HashMap<>();
-        this.observerList = new ArrayList<>();
+        this.slotMap = new ConcurrentHashMap<>();
+        this.observerList = new CopyOnWriteArrayList<>();
     }
     public boolean isSlotAvailable(int slotId) {
         Slot slot = slotMap.get(slotId);
@@ -34,6 +35,12 @@ public class InventoryService {
     public Slot getSlot(int slotId) {
         return this.slotMap.get(slotId);
     }
+    public void addObserver(InventoryObserver observer) {
+        observerList.add(observer);
+    }
+    public void removeObserver(InventoryObserver observer) {
+        observerList.remove(observer);
+    }
     public void notifyDeepensProduct(int slotId){
         for (InventoryObserver observer:observerList){
             observer.onProductDispensed(slotId);
@@ -47,23 +54,59 @@ public class InventoryService {
             observer.onSlotOutOfStock(slotId);
         }
     }
+    public void restockSlot(int slotId, int quantity) {
+        Slot slot = slotMap.get(slotId);
+        if (slot == null) {
+            throw new IllegalArgumentException("Unknown slot " + slotId);
+        }
+        slot.restock(quantity);
+        for (InventoryObserver observer:observerList){
+            observer.onSlotRestocked(slotId);
+        }
+    }
 
-    
+    // Check and decrement are a single CAS, so concurrent callers can never both get the last item
     public Product dispenseProduct(int slotId) {
         Slot slot = slotMap.get(slotId);
-        if (slot == null || slot.getCurrentQuantity() <= 0) {
+        int remaining = slot == null ? -1 : slot.tryTakeOne();
+        if (remaining < 0) {
             throw new IllegalStateException("Slot not available or empty");
         }
         
-        Product product = slot.getProduct();
-        slot.setCurrentQuantity(slot.getCurrentQuantity() - 1);
-        
         notifyDeepensProduct(slotId);
         
-        if (slot.getCurrentQuantity() == 0) {
+        if (remaining == 0) {
             notifySlotOutOfStock(slotId);
         }
         
-        return product;
+        return slot.getProduct();
+    }
+
+    // Holds one item for a paid session; the item is no longer available to anyone else
+    public boolean reserveProduct(int slotId) {
+        Slot slot = slotMap.get(slotId);
+        return slot != null && slot.isOperational() && slot.tryReserve();
+    }
+
+    public Product commitReservation(int slotId) {
+        Slot slot = slotMap.get(slotId);
+        if (slot == null || !slot.commitReservation()) {
+            throw new IllegalStateException("No reservation held for slot " + slotId);
+        }
+
+        notifyDeepensProduct(slotId);
+
+        if (slot.getCurrentQuantity() == 0 && slot.getReservedQuantity() == 0) {
+            notifySlotOutOfStock(slotId);
+        }
+
+        return slot.getProduct();
+    }
+
+    public void releaseReservation(int slotId) {
+        Slot slot = slotMap.get(slotId);
+        if (slot != null) {
+            slot.releaseReservation();
+        }
     }
 }
@@ -0,0 +1,105 @@
+package lld.vendingmechine.service;
+
+import lld.vendingmechine.model.Product;
+import lld.vendingmechine.model.Slot;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Many threads race to buy from the same slots, mixing direct dispenses with
+// reserve -> commit/release sessions. Every round must sell exactly the stock.
+public class InventoryStressTest {
+    private static final int THREADS = 16;
+    private static final int SLOTS = 4;
+    private static final int STOCK_PER_SLOT = 5_000;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) throws InterruptedException {
+        int oversold = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            InventoryService inventoryService = new InventoryService();
+            for (int s = 1; s <= SLOTS; s++) {
+                Slot slot = new Slot();
+                slot.setId(s);
+                slot.setProduct(new Product(s, "Item " + s, 1.00));
+                slot.setCapacity(STOCK_PER_SLOT);
+                slot.setCurrentQuantity(STOCK_PER_SLOT);
+                slot.setOperational(true);
+                inventoryService.addSlot(slot);
+            }
+
+            AtomicInteger[] sold = new AtomicInteger[SLOTS + 1];
+            for (int s = 1; s <= SLOTS; s++) {
+                sold[s] = new AtomicInteger();
+            }
+            CountDownLatch ready = new CountDownLatch(1);
+            Thread[] buyers = new Thread[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                buyers[t] = new Thread(() -> {
+                    try {
+                        ready.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    buyUntilSoldOut(inventoryService, sold);
+                });
+                buyers[t].start();
+            }
+            ready.countDown();
+            for (Thread buyer : buyers) {
+                buyer.join();
+            }
+
+            for (int s = 1; s <= SLOTS; s++) {
+                Slot slot = inventoryService.getSlot(s);
+                if (sold[s].get() != STOCK_PER_SLOT || slot.getCurrentQuantity() != 0 || slot.getReservedQuantity() != 0) {
+                    oversold++;
+                    System.out.println("Round " + round + " slot " + s + ": sold " + sold[s].get()
+                            + ", left " + slot.getCurrentQuantity() + ", reserved " + slot.getReservedQuantity());
+                }
+            }
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println(ROUNDS + " rounds x " + THREADS + " threads x " + SLOTS + " slots x " + STOCK_PER_SLOT
+                + " items in " + elapsed + " ms");
+        System.out.println(oversold == 0 ? "PASS: every slot sold exactly its stock, no oversell"
+                : "FAIL: " + oversold + " slot(s) sold more or less than their stock");
+        if (oversold != 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void buyUntilSoldOut(InventoryService inventoryService, AtomicInteger[] sold) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int emptySlots = 0;
+        while (emptySlots < SLOTS) {
+            emptySlots = 0;
+            for (int s = 1; s <= SLOTS; s++) {
+                if (inventoryService.getSlot(s).getCurrentQuantity() == 0) {
+                    emptySlots++;
+                    continue;
+                }
+                int mode = random.nextInt(3);
+                if (mode == 0) {
+                    try {
+                        inventoryService.dispenseProduct(s);
+                        sold[s].incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        // lost the race for the last item
+                    }
+                } else if (inventoryService.reserveProduct(s)) {
+                    // Some sessions are abandoned after payment and must put the item back
+                    if (mode == 1 && random.nextInt(4) == 0) {
+                        inventoryService.releaseReservation(s);
+                    } else {
+                        inventoryService.commitReservation(s);
+                        sold[s].incrementAndGet();
+                    }
+                }
+            }
+        }
+    }
+}
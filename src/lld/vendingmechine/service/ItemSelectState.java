@@ -2,6 +2,7 @@ package lld.vendingmechine.service;
 
 import lld.vendingmechine.model.Coin;
 import lld.vendingmechine.model.Product;
+import lld.vendingmechine.model.SessionEventType;
 import lld.vendingmechine.model.VendingMachineState;
 
 import java.util.List;
@@ -13,6 +14,7 @@ public class ItemSelectState implements VendingMachineState {
             Product product = context.getInventoryService().getProductFromSlot(slotId);
             context.setSelectedSlotId(slotId);
             context.setSelectedProduct(product);
+            context.logSessionEvent(SessionEventType.SELECTED, null);
 
             System.out.println("Selection changed to: " + product.getName() + " - $" + product.getPrice());
         } else {
@@ -24,6 +26,7 @@ public class ItemSelectState implements VendingMachineState {
     public void insertCoin(VendingMachineContext context, Coin coin) {
         boolean inserted = context.getPaymentService().insertCoin(coin);
         if (inserted) {
+            context.logSessionEvent(SessionEventType.COIN_INSERTED, coin);
             System.out.println("Inserted: " + coin.getDisplayName() +
                     " (Total: $" + String.format("%.2f", context.getPaymentService().getTotalInserted()) + ")");
             
@@ -34,7 +37,13 @@ public class ItemSelectState implements VendingMachineState {
             // Check if payment is complete
             if (selectedProduct != null && 
                 context.getPaymentService().getTotalInserted() >= selectedProduct.getPrice()) {
-                context.setState(new PaymentPendingState());
+                // Hold the item now so it cannot sell out between payment and dispensing
+                if (context.getInventoryService().reserveProduct(context.getSelectedSlotId())) {
+                    context.setState(new PaymentPendingState());
+                } else {
+                    System.out.println("Sorry, " + selectedProduct.getName() + " just sold out");
+                    cancelTransaction(context);
+                }
             }
         } else {
             System.out.println("Invalid coin: " + coin.getDisplayName());
@@ -58,6 +67,7 @@ public class ItemSelectState implements VendingMachineState {
 
         // ✅ Use the service method you just added
         context.getPaymentService().clearInsertedCoins();
+        context.logSessionEvent(SessionEventType.REFUNDED, null);
 
         // Reset transaction
         context.resetTransaction();
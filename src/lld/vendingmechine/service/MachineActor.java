@@ -0,0 +1,72 @@
+package lld.vendingmechine.service;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+// Mailbox around one vending machine. Messages for a machine run one at a time, in
+// submission order, so the (non thread-safe) context and services need no locking,
+// while different machines drain on the shared executor in parallel.
+public class MachineActor {
+    // Messages handled per turn before yielding the thread to other machines
+    private static final int THROUGHPUT = 32;
+
+    private final int machineId;
+    private final VendingMachineManager machine;
+    private final Executor executor;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    public MachineActor(int machineId, VendingMachineManager machine, Executor executor) {
+        this.machineId = machineId;
+        this.machine = machine;
+        this.executor = executor;
+    }
+
+    public int getMachineId() {
+        return machineId;
+    }
+
+    public <T> CompletableFuture<T> ask(Function<VendingMachineManager, T> message) {
+        CompletableFuture<T> reply = new CompletableFuture<>();
+        mailbox.offer(() -> {
+            try {
+                reply.complete(message.apply(machine));
+            } catch (Throwable e) {
+                // Errors too: a reply that never completes would hang its caller forever
+                reply.completeExceptionally(e);
+            }
+        });
+        schedule();
+        return reply;
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            for (int i = 0; i < THROUGHPUT; i++) {
+                Runnable message = mailbox.poll();
+                if (message == null) {
+                    break;
+                }
+                message.run();
+            }
+        } finally {
+            // scheduled must be cleared and the mailbox re-checked even when a message throws;
+            // otherwise no later send can schedule the actor and it stalls forever
+            scheduled.set(false);
+            // A message may have arrived after the last poll but before the flag was cleared
+            if (!mailbox.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
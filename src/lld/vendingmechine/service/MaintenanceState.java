@@ -36,6 +36,6 @@ public class MaintenanceState implements VendingMachineState {
 
     @Override
     public String getStateName() {
-        return "";
+        return "MAINTENANCE";
     }
 }
@@ -1,41 +1,58 @@
 package lld.vendingmechine.service;
 
 import lld.vendingmechine.model.Coin;
+import lld.vendingmechine.model.SessionEventType;
 import lld.vendingmechine.model.VendingMachineState;
 
+import java.util.List;
+
 public class PaymentPendingState implements VendingMachineState {
     @Override
     public void selectProduct(VendingMachineContext context, int slotId) {
-
+        System.out.println("Payment complete, dispense or cancel before changing selection");
     }
 
     @Override
     public void insertCoin(VendingMachineContext context, Coin coin) {
-
+        System.out.println("Payment already complete, returning: " + coin.getDisplayName());
     }
 
     @Override
     public void dispenseProduct(VendingMachineContext context) {
-
+        context.setState(new DispenseState());
+        context.dispenseProduct();
     }
 
     @Override
     public void cancelTransaction(VendingMachineContext context) {
-
+        List<Coin> insertedCoins = context.getPaymentService().getInsertedCoins();
+        if (insertedCoins != null) {
+            for (Coin coin : insertedCoins) {
+                System.out.println("Refunding: " + coin.getDisplayName());
+            }
+        }
+        context.getInventoryService().releaseReservation(context.getSelectedSlotId());
+        context.getPaymentService().clearInsertedCoins();
+        context.logSessionEvent(SessionEventType.REFUNDED, null);
+        context.resetTransaction();
+        context.setState(new ReadyState());
+        System.out.println("Transaction cancelled");
     }
 
     @Override
     public void enterMaintenance(VendingMachineContext context) {
-
+        cancelTransaction(context);
+        context.setState(new MaintenanceState());
+        System.out.println("Entering maintenance mode");
     }
 
     @Override
     public void exitMaintenance(VendingMachineContext context) {
-
+        System.out.println("Not in maintenance mode");
     }
 
     @Override
     public String getStateName() {
-        return "";
+        return "PAYMENT_PENDING";
     }
 }
@@ -2,6 +2,7 @@ package lld.vendingmechine.service;
 
 import lld.vendingmechine.model.Coin;
 import lld.vendingmechine.model.Product;
+import lld.vendingmechine.model.SessionEventType;
 import lld.vendingmechine.model.VendingMachineState;
 
 public class ReadyState implements VendingMachineState {
@@ -12,6 +13,8 @@ public class ReadyState implements VendingMachineState {
             context.setSelectedSlotId(slotId);
             Product product = context.getInventoryService().getProductFromSlot(slotId);
             context.setSelectedProduct(product);
+            context.beginSession();
+            context.logSessionEvent(SessionEventType.SELECTED, null);
             context.setState(new ItemSelectState());
             System.out.println("Product selected: " + product.getName() + " - $" + product.getPrice());
         } else {
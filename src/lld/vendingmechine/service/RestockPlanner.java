@@ -0,0 +1,167 @@
+package lld.vendingmechine.service;
+
+import lld.vendingmechine.model.RestockRoute;
+import lld.vendingmechine.model.RestockStop;
+import lld.vendingmechine.model.Slot;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Turns projected stockouts into refill routes. Machines with a slot expected to run
+// out within the horizon are visited; stops are grouped into vehicle loads with a
+// polar sweep around the depot, and each load is ordered by nearest neighbour then
+// tidied with 2-opt. O(n log n) grouping plus small per-route work, so thousands of
+// machines plan in milliseconds.
+public class RestockPlanner {
+    private static final int MAX_TWO_OPT_PASSES = 50;
+
+    private final double depotX;
+    private final double depotY;
+    private final List<Site> sites = new ArrayList<>();
+
+    public RestockPlanner(double depotX, double depotY) {
+        this.depotX = depotX;
+        this.depotY = depotY;
+    }
+
+    public void addMachine(int machineId, double x, double y, DepletionTracker tracker) {
+        sites.add(new Site(machineId, x, y, tracker));
+    }
+
+    public List<RestockRoute> plan(double horizonHours, int vehicleCapacityUnits) {
+        List<RestockStop> stops = new ArrayList<>();
+        for (Site site : sites) {
+            RestockStop stop = forecast(site, horizonHours);
+            if (stop != null) {
+                stops.add(stop);
+            }
+        }
+
+        stops.sort(Comparator.comparingDouble(stop -> Math.atan2(stop.getY() - depotY, stop.getX() - depotX)));
+
+        List<RestockRoute> routes = new ArrayList<>();
+        List<RestockStop> load = new ArrayList<>();
+        int loadUnits = 0;
+        for (RestockStop stop : stops) {
+            if (!load.isEmpty() && loadUnits + stop.getUnits() > vehicleCapacityUnits) {
+                routes.add(buildRoute(routes.size(), load, loadUnits));
+                load = new ArrayList<>();
+                loadUnits = 0;
+            }
+            load.add(stop);
+            loadUnits += stop.getUnits();
+        }
+        if (!load.isEmpty()) {
+            routes.add(buildRoute(routes.size(), load, loadUnits));
+        }
+        return routes;
+    }
+
+    // Fills every slot that runs out inside the horizon back to capacity
+    private RestockStop forecast(Site site, double horizonHours) {
+        InventoryService inventory = site.tracker.getInventoryService();
+        double earliest = Double.POSITIVE_INFINITY;
+        int units = 0;
+        for (Slot slot : inventory.getAllSlots()) {
+            double hours = site.tracker.hoursUntilStockout(slot.getId());
+            if (hours <= horizonHours) {
+                units += slot.getCapacity() - slot.getCurrentQuantity();
+                earliest = Math.min(earliest, hours);
+            }
+        }
+        return units > 0 ? new RestockStop(site.machineId, site.x, site.y, units, earliest) : null;
+    }
+
+    private RestockRoute buildRoute(int vehicle, List<RestockStop> load, int units) {
+        List<RestockStop> ordered = nearestNeighbourOrder(load);
+        twoOpt(ordered);
+        return new RestockRoute(vehicle, ordered, routeDistance(ordered), units);
+    }
+
+    private List<RestockStop> nearestNeighbourOrder(List<RestockStop> load) {
+        List<RestockStop> remaining = new ArrayList<>(load);
+        List<RestockStop> ordered = new ArrayList<>(load.size());
+        double x = depotX;
+        double y = depotY;
+        while (!remaining.isEmpty()) {
+            int nearest = 0;
+            double best = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < remaining.size(); i++) {
+                double d = distance(x, y, remaining.get(i).getX(), remaining.get(i).getY());
+                if (d < best) {
+                    best = d;
+                    nearest = i;
+                }
+            }
+            RestockStop next = remaining.remove(nearest);
+            ordered.add(next);
+            x = next.getX();
+            y = next.getY();
+        }
+        return ordered;
+    }
+
+    // Reverses any segment whose reversal shortens the tour (depot at both ends)
+    private void twoOpt(List<RestockStop> route) {
+        int n = route.size();
+        boolean improved = true;
+        for (int pass = 0; improved && pass < MAX_TWO_OPT_PASSES; pass++) {
+            improved = false;
+            for (int i = 0; i < n - 1; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    double ax = i == 0 ? depotX : route.get(i - 1).getX();
+                    double ay = i == 0 ? depotY : route.get(i - 1).getY();
+                    double dx = j == n - 1 ? depotX : route.get(j + 1).getX();
+                    double dy = j == n - 1 ? depotY : route.get(j + 1).getY();
+                    RestockStop b = route.get(i);
+                    RestockStop c = route.get(j);
+                    double before = distance(ax, ay, b.getX(), b.getY()) + distance(c.getX(), c.getY(), dx, dy);
+                    double after = distance(ax, ay, c.getX(), c.getY()) + distance(b.getX(), b.getY(), dx, dy);
+                    if (after < before - 1e-9) {
+                        reverse(route, i, j);
+                        improved = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void reverse(List<RestockStop> route, int from, int to) {
+        while (from < to) {
+            RestockStop tmp = route.get(from);
+            route.set(from++, route.get(to));
+            route.set(to--, tmp);
+        }
+    }
+
+    private double routeDistance(List<RestockStop> route) {
+        double total = 0.0;
+        double x = depotX;
+        double y = depotY;
+        for (RestockStop stop : route) {
+            total += distance(x, y, stop.getX(), stop.getY());
+            x = stop.getX();
+            y = stop.getY();
+        }
+        return total + distance(x, y, depotX, depotY);
+    }
+
+    private static double distance(double x1, double y1, double x2, double y2) {
+        return Math.hypot(x2 - x1, y2 - y1);
+    }
+
+    private static class Site {
+        final int machineId;
+        final double x;
+        final double y;
+        final DepletionTracker tracker;
+
+        Site(int machineId, double x, double y, DepletionTracker tracker) {
+            this.machineId = machineId;
+            this.x = x;
+            this.y = y;
+            this.tracker = tracker;
+        }
+    }
+}
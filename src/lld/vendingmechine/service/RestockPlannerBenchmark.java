@@ -0,0 +1,85 @@
+package lld.vendingmechine.service;
+
+import lld.vendingmechine.model.Product;
+import lld.vendingmechine.model.RestockRoute;
+import lld.vendingmechine.model.RestockStop;
+import lld.vendingmechine.model.Slot;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RestockPlannerBenchmark {
+    private static final int MACHINES = 5_000;
+    private static final int SLOTS_PER_MACHINE = 8;
+    private static final int SLOT_CAPACITY = 20;
+    private static final double CITY_KM = 40.0;
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    public static void main(String[] args) {
+        Random random = new Random(5);
+        AtomicLong clock = new AtomicLong();
+        RestockPlanner planner = new RestockPlanner(CITY_KM / 2, CITY_KM / 2);
+
+        // Replay a day and a half of sales per slot through the real dispense path
+        long events = 0;
+        for (int m = 0; m < MACHINES; m++) {
+            InventoryService inventory = new InventoryService();
+            DepletionTracker tracker = new DepletionTracker(inventory, 0.1, clock::get);
+            inventory.addObserver(tracker);
+            for (int s = 1; s <= SLOTS_PER_MACHINE; s++) {
+                Slot slot = new Slot();
+                slot.setId(s);
+                slot.setProduct(new Product(s, "Item " + s, 1.25));
+                slot.setCapacity(SLOT_CAPACITY);
+                slot.setCurrentQuantity(SLOT_CAPACITY);
+                slot.setOperational(true);
+                inventory.addSlot(slot);
+
+                double salesPerHour = 0.02 + random.nextDouble() * 0.4;
+                long t = 0;
+                while (true) {
+                    t += (long) (-Math.log(1 - random.nextDouble()) / salesPerHour * HOUR_MILLIS);
+                    if (t > 36 * HOUR_MILLIS || slot.getCurrentQuantity() == 0) {
+                        break;
+                    }
+                    clock.set(t);
+                    inventory.dispenseProduct(s);
+                    events++;
+                }
+            }
+            planner.addMachine(m, random.nextDouble() * CITY_KM, random.nextDouble() * CITY_KM, tracker);
+        }
+        clock.set(36 * HOUR_MILLIS);
+        System.out.println("Machines: " + MACHINES + ", slots: " + (MACHINES * SLOTS_PER_MACHINE)
+                + ", dispense events replayed: " + events);
+
+        for (int i = 0; i < 5; i++) {
+            planner.plan(24, 400);
+        }
+        int runs = 20;
+        long start = System.nanoTime();
+        List<RestockRoute> routes = null;
+        for (int i = 0; i < runs; i++) {
+            routes = planner.plan(24, 400);
+        }
+        long elapsed = (System.nanoTime() - start) / runs;
+
+        int stops = 0;
+        double distance = 0.0;
+        int units = 0;
+        double soonest = Double.POSITIVE_INFINITY;
+        for (RestockRoute route : routes) {
+            stops += route.getStops().size();
+            distance += route.getDistance();
+            units += route.getUnits();
+            for (RestockStop stop : route.getStops()) {
+                soonest = Math.min(soonest, stop.getHoursUntilStockout());
+            }
+        }
+        System.out.println("24h horizon: " + stops + " machines to visit, " + routes.size() + " routes, "
+                + units + " units, " + String.format("%.1f", distance) + " km total");
+        System.out.println("Most urgent stop runs out in " + String.format("%.1f", soonest) + " h");
+        System.out.println("Planning time: " + String.format("%.2f", elapsed / 1e6) + " ms per plan");
+    }
+}
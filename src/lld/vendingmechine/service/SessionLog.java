@@ -0,0 +1,305 @@
+package lld.vendingmechine.service;
+
+import lld.vendingmechine.model.SessionEvent;
+import lld.vendingmechine.model.SessionEventType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Append-only write-ahead log of vending session events with group commit.
+// append() returns only once the event is on disk, but callers that arrive while a
+// write is in progress are batched into the next single write + fsync, so the sync
+// cost is shared across machines instead of paid per event.
+// Closed sessions are only history, so once the file passes compactAfterBytes the writer
+// thread rewrites it with just the events of still-open sessions plus each machine's
+// latest closing event (which keeps session ids from being reused after a restart). The
+// new file is synced and atomically renamed over the old one between two batches, so no
+// acknowledged event is ever lost to compaction.
+public class SessionLog implements AutoCloseable {
+    public static final long DEFAULT_COMPACT_AFTER_BYTES = 8L * 1024 * 1024;
+
+    private final Path file;
+    private final boolean sync;
+    private final long compactAfterBytes;
+    private final Thread writer;
+
+    // Only touched by the writer thread once it is started
+    private FileChannel channel;
+    private long fileBytes;
+    private final Map<String, List<SessionEvent>> openSessions = new LinkedHashMap<>();
+    private final Map<Integer, SessionEvent> lastClosedByMachine = new HashMap<>();
+
+    private final Object lock = new Object();
+    private List<SessionEvent> pending = new ArrayList<>();
+    private long appendedSeq;
+    private long durableSeq;
+    private long commits;
+    private long compactions;
+    private boolean compactRequested;
+    private IOException failure;
+    private boolean closed;
+
+    public SessionLog(Path file) throws IOException {
+        this(file, true);
+    }
+
+    // sync=false skips fsync (page cache only); useful to measure the cost of durability
+    public SessionLog(Path file, boolean sync) throws IOException {
+        this(file, sync, DEFAULT_COMPACT_AFTER_BYTES);
+    }
+
+    public SessionLog(Path file, boolean sync, long compactAfterBytes) throws IOException {
+        this.file = file;
+        this.sync = sync;
+        this.compactAfterBytes = compactAfterBytes;
+        // Events from before a restart count towards what compaction must keep
+        List<SessionEvent> recovered = new ArrayList<>();
+        long validBytes = Files.exists(file) ? decode(Files.readAllBytes(file), recovered) : 0;
+        for (SessionEvent event : recovered) {
+            track(event);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        // Cut off a torn tail from a crash so new records don't get glued onto it
+        if (channel.size() > validBytes) {
+            channel.truncate(validBytes);
+            channel.force(true);
+        }
+        this.fileBytes = validBytes;
+        this.writer = new Thread(this::writeLoop, "session-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void append(SessionEvent event) {
+        long mySeq;
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Session log is closed");
+            }
+            pending.add(event);
+            mySeq = ++appendedSeq;
+            lock.notifyAll();
+            while (durableSeq < mySeq && failure == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for session log commit", e);
+                }
+            }
+            if (durableSeq < mySeq) {
+                throw new UncheckedIOException(failure);
+            }
+        }
+    }
+
+    // Number of write (+ fsync) rounds so far; appends / commits is the group-commit batch size
+    public long getCommitCount() {
+        synchronized (lock) {
+            return commits;
+        }
+    }
+
+    public long getAppendCount() {
+        synchronized (lock) {
+            return appendedSeq;
+        }
+    }
+
+    public long getCompactionCount() {
+        synchronized (lock) {
+            return compactions;
+        }
+    }
+
+    public static List<SessionEvent> readAll(Path file) throws IOException {
+        List<SessionEvent> events = new ArrayList<>();
+        if (Files.exists(file)) {
+            decode(Files.readAllBytes(file), events);
+        }
+        return events;
+    }
+
+    // Adds the events of every complete record to events and returns the byte offset just
+    // past the last one. Records are ASCII lines, so character and byte offsets agree.
+    private static long decode(byte[] bytes, List<SessionEvent> events) {
+        String content = new String(bytes, StandardCharsets.US_ASCII);
+        int lineStart = 0;
+        for (int newline = content.indexOf('\n'); newline >= 0; newline = content.indexOf('\n', lineStart)) {
+            String line = content.substring(lineStart, newline);
+            if (!line.isEmpty()) {
+                try {
+                    events.add(SessionEvent.decode(line));
+                } catch (IllegalArgumentException e) {
+                    // Torn write from a crash; nothing after it was acknowledged
+                    break;
+                }
+            }
+            lineStart = newline + 1;
+        }
+        // Text after the last newline is an unacknowledged partial record and is ignored
+        return lineStart;
+    }
+
+    // Rewrites the log without closed sessions now, rather than waiting for it to grow past
+    // compactAfterBytes; returns once the compacted file is in place
+    public void compact() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Session log is closed");
+            }
+            long target = compactions + 1;
+            compactRequested = true;
+            lock.notifyAll();
+            while (compactions < target && failure == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for session log compaction", e);
+                }
+            }
+            if (compactions < target) {
+                throw failure;
+            }
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            List<SessionEvent> batch;
+            long batchEnd;
+            boolean compactNow;
+            synchronized (lock) {
+                while (pending.isEmpty() && !compactRequested && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.isEmpty() && !compactRequested) {
+                    return;
+                }
+                batch = pending;
+                batchEnd = appendedSeq;
+                pending = new ArrayList<>();
+                compactNow = compactRequested;
+                compactRequested = false;
+            }
+
+            try {
+                if (!batch.isEmpty()) {
+                    write(batch);
+                    synchronized (lock) {
+                        durableSeq = batchEnd;
+                        commits++;
+                        lock.notifyAll();
+                    }
+                }
+                if (compactNow || fileBytes >= compactAfterBytes) {
+                    rewrite();
+                    synchronized (lock) {
+                        compactions++;
+                        lock.notifyAll();
+                    }
+                }
+            } catch (IOException e) {
+                synchronized (lock) {
+                    failure = e;
+                    lock.notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    private void write(List<SessionEvent> batch) throws IOException {
+        StringBuilder builder = new StringBuilder(batch.size() * 32);
+        for (SessionEvent event : batch) {
+            builder.append(event.encode()).append('\n');
+            track(event);
+        }
+        fileBytes += writeFully(channel, builder);
+        if (sync) {
+            channel.force(false);
+        }
+    }
+
+    // Writes the retained events to a side file, syncs it and renames it over the log. A
+    // crash before the rename leaves the old log in place; the side file is rewritten next time.
+    private void rewrite() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (SessionEvent event : lastClosedByMachine.values()) {
+            builder.append(event.encode()).append('\n');
+        }
+        for (List<SessionEvent> events : openSessions.values()) {
+            for (SessionEvent event : events) {
+                builder.append(event.encode()).append('\n');
+            }
+        }
+        Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        long bytes;
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            bytes = writeFully(out, builder);
+            out.force(true);
+        }
+        channel.close();
+        Files.move(compacted, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileBytes = bytes;
+    }
+
+    private static long writeFully(FileChannel target, StringBuilder lines) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.US_ASCII));
+        long bytes = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+        return bytes;
+    }
+
+    // Keeps what compaction must retain: every event of an open session, and per machine
+    // the closing event of its highest closed session
+    private void track(SessionEvent event) {
+        String key = event.getMachineId() + ":" + event.getSessionId();
+        if (event.getType() == SessionEventType.DISPENSED || event.getType() == SessionEventType.REFUNDED) {
+            openSessions.remove(key);
+            lastClosedByMachine.merge(event.getMachineId(), event,
+                    (previous, latest) -> latest.getSessionId() >= previous.getSessionId() ? latest : previous);
+        } else {
+            openSessions.computeIfAbsent(key, k -> new ArrayList<>()).add(event);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+}
@@ -0,0 +1,141 @@
+package lld.vendingmechine.service;
+
+import lld.vendingmechine.model.Coin;
+import lld.vendingmechine.model.Product;
+import lld.vendingmechine.model.SessionEvent;
+import lld.vendingmechine.model.SessionEventType;
+import lld.vendingmechine.model.Slot;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SessionLogBenchmark {
+    private static final int MACHINES = 8;
+    private static final int TRANSACTIONS_PER_MACHINE = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        demonstrateRecovery();
+
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        long baseline = run(null);
+        Path noSyncFile = Files.createTempFile("session-log-nosync", ".log");
+        long noSync;
+        long noSyncCommits;
+        try (SessionLog log = new SessionLog(noSyncFile, false)) {
+            noSync = run(log);
+            noSyncCommits = log.getCommitCount();
+        }
+        Path syncFile = Files.createTempFile("session-log-sync", ".log");
+        long synced;
+        long syncedCommits;
+        long syncedAppends;
+        try (SessionLog log = new SessionLog(syncFile, true)) {
+            synced = run(log);
+            syncedCommits = log.getCommitCount();
+            syncedAppends = log.getAppendCount();
+        }
+        System.setOut(console);
+
+        long transactions = (long) MACHINES * TRANSACTIONS_PER_MACHINE;
+        System.out.println("\n=== Log overhead (" + MACHINES + " machines x " + TRANSACTIONS_PER_MACHINE + " transactions) ===");
+        System.out.println("No log:          " + perTransaction(baseline, transactions));
+        System.out.println("Log, no fsync:   " + perTransaction(noSync, transactions) + " (" + noSyncCommits + " writes)");
+        System.out.println("Log, fsync:      " + perTransaction(synced, transactions) + " (" + syncedCommits
+                + " fsyncs, " + String.format("%.1f", syncedAppends / (double) syncedCommits) + " events per group commit)");
+        Files.deleteIfExists(noSyncFile);
+        Files.deleteIfExists(syncFile);
+    }
+
+    private static void demonstrateRecovery() throws Exception {
+        Path file = Files.createTempFile("session-log", ".log");
+        System.out.println("=== Before crash ===");
+        try (SessionLog log = new SessionLog(file)) {
+            VendingMachineManager first = newMachine(1, log);
+            first.selectProduct(1);
+            first.insertCoin(Coin.DOLLAR);
+            first.insertCoin(Coin.QUARTER);
+            first.insertCoin(Coin.QUARTER);
+            first.dispenseProduct();
+
+            // Paid in full, then the process dies before dispensing
+            VendingMachineManager second = newMachine(2, log);
+            second.selectProduct(1);
+            second.insertCoin(Coin.DOLLAR);
+            second.insertCoin(Coin.QUARTER);
+            second.insertCoin(Coin.QUARTER);
+
+            // Paid in full, then the process dies while the item is being released
+            VendingMachineManager third = newMachine(3, log);
+            third.selectProduct(1);
+            third.insertCoin(Coin.DOLLAR);
+            third.insertCoin(Coin.QUARTER);
+            third.insertCoin(Coin.QUARTER);
+            third.getContext().logSessionEvent(SessionEventType.DISPENSING, null);
+        }
+
+        System.out.println("\n=== After restart ===");
+        try (SessionLog log = new SessionLog(file)) {
+            Map<Integer, VendingMachineContext> machines = new HashMap<>();
+            machines.put(1, newMachine(1, log).getContext());
+            machines.put(2, newMachine(2, log).getContext());
+            machines.put(3, newMachine(3, log).getContext());
+            SessionRecovery recovery = new SessionRecovery(log);
+            List<SessionEvent> refunds = recovery.recover(machines);
+            System.out.println("Sessions refunded: " + refunds);
+            System.out.println("Unconfirmed dispenses: " + recovery.getUnconfirmedDispenses());
+            System.out.println("Machine 2 state: " + machines.get(2).getCurrentState().getStateName());
+            System.out.println("Second recovery refunds: " + new SessionRecovery(log).recover(machines).size());
+        }
+        Files.deleteIfExists(file);
+    }
+
+    // Each machine runs on its own thread, as it would in the fleet
+    private static long run(SessionLog log) throws InterruptedException {
+        Thread[] threads = new Thread[MACHINES];
+        for (int m = 0; m < MACHINES; m++) {
+            VendingMachineManager machine = newMachine(m, log);
+            threads[m] = new Thread(() -> {
+                for (int i = 0; i < TRANSACTIONS_PER_MACHINE; i++) {
+                    machine.selectProduct(1);
+                    machine.insertCoin(Coin.DOLLAR);
+                    machine.insertCoin(Coin.QUARTER);
+                    machine.insertCoin(Coin.QUARTER);
+                    machine.dispenseProduct();
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static VendingMachineManager newMachine(int machineId, SessionLog log) {
+        VendingMachineManager machine = new VendingMachineManager();
+        Slot slot = new Slot();
+        slot.setId(1);
+        slot.setProduct(new Product(1, "Coke", 1.50));
+        slot.setCapacity(TRANSACTIONS_PER_MACHINE);
+        slot.setCurrentQuantity(TRANSACTIONS_PER_MACHINE);
+        slot.setOperational(true);
+        machine.addProductToSlot(slot);
+        if (log != null) {
+            machine.enableSessionLog(machineId, log);
+        }
+        return machine;
+    }
+
+    private static String perTransaction(long nanos, long transactions) {
+        return String.format("%.1f us/transaction", nanos / 1000.0 / transactions);
+    }
+}
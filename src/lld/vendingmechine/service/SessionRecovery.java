@@ -0,0 +1,112 @@
+package lld.vendingmechine.service;
+
+import lld.vendingmechine.model.Coin;
+import lld.vendingmechine.model.SessionEvent;
+import lld.vendingmechine.model.SessionEventType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Replays the session log after a restart. Any session that took coins but never
+// reached DISPENSING, DISPENSED or REFUNDED is refunded, the refund is logged so it cannot
+// be repeated, and the machine is put back in a clean READY state.
+// A session that stopped at DISPENSING crashed while the item was being released, and the
+// log can't tell whether it came out. That ambiguity is resolved as a sale: the session is
+// closed with DISPENSED and no refund, so the machine never pays out money and goods
+// together, and it is listed in getUnconfirmedDispenses() for an operator to reconcile
+// against the slot count.
+public class SessionRecovery {
+    private final SessionLog sessionLog;
+    private final List<SessionEvent> unconfirmedDispenses = new ArrayList<>();
+
+    public SessionRecovery(SessionLog sessionLog) {
+        this.sessionLog = sessionLog;
+    }
+
+    public List<SessionEvent> recover(Map<Integer, VendingMachineContext> machines) throws IOException {
+        unconfirmedDispenses.clear();
+        Map<String, OpenSession> open = new LinkedHashMap<>();
+        Map<Integer, Long> lastSessionIds = new HashMap<>();
+
+        for (SessionEvent event : SessionLog.readAll(sessionLog.getFile())) {
+            lastSessionIds.merge(event.getMachineId(), event.getSessionId(), Math::max);
+            String key = event.getMachineId() + ":" + event.getSessionId();
+            switch (event.getType()) {
+                case SELECTED:
+                    open.computeIfAbsent(key, k -> new OpenSession(event.getMachineId(), event.getSessionId()))
+                            .slotId = event.getSlotId();
+                    break;
+                case COIN_INSERTED:
+                    open.computeIfAbsent(key, k -> new OpenSession(event.getMachineId(), event.getSessionId()))
+                            .coins.add(event.getCoin());
+                    break;
+                case DISPENSING:
+                    open.computeIfAbsent(key, k -> new OpenSession(event.getMachineId(), event.getSessionId()))
+                            .dispensing = true;
+                    break;
+                case DISPENSED:
+                case REFUNDED:
+                    open.remove(key);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        List<SessionEvent> refunds = new ArrayList<>();
+        for (OpenSession session : open.values()) {
+            if (session.dispensing) {
+                System.out.println("Recovery: session " + session.sessionId + " on machine " + session.machineId
+                        + " crashed mid-dispense from slot " + session.slotId + "; kept as a sale, check the slot");
+                SessionEvent closed = new SessionEvent(session.machineId, session.sessionId,
+                        SessionEventType.DISPENSED, session.slotId, null);
+                sessionLog.append(closed);
+                unconfirmedDispenses.add(closed);
+                continue;
+            }
+            for (Coin coin : session.coins) {
+                System.out.println("Recovery: refunding " + coin.getDisplayName() + " to session "
+                        + session.sessionId + " on machine " + session.machineId);
+            }
+            SessionEvent refund = new SessionEvent(session.machineId, session.sessionId,
+                    SessionEventType.REFUNDED, session.slotId, null);
+            sessionLog.append(refund);
+            if (!session.coins.isEmpty()) {
+                refunds.add(refund);
+            }
+        }
+
+        for (Map.Entry<Integer, VendingMachineContext> entry : machines.entrySet()) {
+            VendingMachineContext context = entry.getValue();
+            context.restoreSessionId(lastSessionIds.getOrDefault(entry.getKey(), 0L));
+            context.getPaymentService().clearInsertedCoins();
+            context.resetTransaction();
+            if (!(context.getCurrentState() instanceof ReadyState)) {
+                context.setState(new ReadyState());
+            }
+        }
+        return refunds;
+    }
+
+    // Sessions the last recover() closed as sales without knowing the item came out
+    public List<SessionEvent> getUnconfirmedDispenses() {
+        return new ArrayList<>(unconfirmedDispenses);
+    }
+
+    private static class OpenSession {
+        final int machineId;
+        final long sessionId;
+        int slotId;
+        boolean dispensing;
+        final List<Coin> coins = new ArrayList<>();
+
+        OpenSession(int machineId, long sessionId) {
+            this.machineId = machineId;
+            this.sessionId = sessionId;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package lld.vendingmechine.service;
+
+import lld.vendingmechine.model.VendingMachineState;
+
+public interface StateTransitionListener {
+    void onStateTransition(VendingMachineState from, VendingMachineState to);
+}
@@ -0,0 +1,76 @@
+package lld.vendingmechine.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Periodically drains closed telemetry buckets from every registered machine and
+// appends them to one CSV file, one write + flush per interval rather than per event.
+public class TelemetryFileSink implements AutoCloseable {
+    private static final String HEADER = "bucket_start,machine_id,metric,key,value";
+
+    private final List<VendingTelemetry> sources = new CopyOnWriteArrayList<>();
+    private final BufferedWriter writer;
+    private final ScheduledExecutorService scheduler;
+
+    public TelemetryFileSink(Path file, long flushIntervalMillis) throws IOException {
+        boolean newFile = !Files.exists(file) || Files.size(file) == 0;
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (newFile) {
+            writer.write(HEADER);
+            writer.newLine();
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "telemetry-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                flush(false);
+            } catch (UncheckedIOException e) {
+                System.out.println("Telemetry flush failed: " + e.getMessage());
+            }
+        }, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void register(VendingTelemetry telemetry) {
+        sources.add(telemetry);
+    }
+
+    public synchronized void flush(boolean includeCurrent) {
+        try {
+            for (VendingTelemetry telemetry : sources) {
+                for (String row : telemetry.drainBuckets(includeCurrent)) {
+                    writer.write(row);
+                    writer.newLine();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush(true);
+        writer.close();
+    }
+}
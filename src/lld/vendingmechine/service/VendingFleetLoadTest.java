@@ -0,0 +1,105 @@
+package lld.vendingmechine.service;
+
+import lld.vendingmechine.model.Coin;
+import lld.vendingmechine.model.Product;
+import lld.vendingmechine.model.Slot;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class VendingFleetLoadTest {
+    private static final int MACHINES = 5_000;
+    private static final int SESSIONS_PER_MACHINE = 200;
+    private static final int SLOTS_PER_MACHINE = 4;
+
+    public static void main(String[] args) throws Exception {
+        PrintStream console = System.out;
+        int threads = Runtime.getRuntime().availableProcessors();
+        VendingFleetManager fleet = new VendingFleetManager(threads);
+
+        List<CompletableFuture<Void>> setup = new ArrayList<>();
+        for (int m = 0; m < MACHINES; m++) {
+            fleet.registerMachine(m);
+            for (int s = 1; s <= SLOTS_PER_MACHINE; s++) {
+                Slot slot = new Slot();
+                slot.setId(s);
+                slot.setProduct(new Product(s, "Item " + s, 1.50));
+                slot.setCapacity(SESSIONS_PER_MACHINE);
+                slot.setCurrentQuantity(SESSIONS_PER_MACHINE);
+                slot.setOperational(true);
+                setup.add(fleet.addSlot(m, slot));
+            }
+        }
+        CompletableFuture.allOf(setup.toArray(new CompletableFuture<?>[0])).join();
+
+        // The state classes log every step; mute them so the test measures the machines, not the console
+        System.setOut(new DiscardingPrintStream());
+        List<Coin> payment = Arrays.asList(Coin.DOLLAR, Coin.QUARTER, Coin.QUARTER);
+        AtomicLong succeeded = new AtomicLong();
+        long start = System.nanoTime();
+
+        List<CompletableFuture<Boolean>> sessions = new ArrayList<>(MACHINES * SESSIONS_PER_MACHINE);
+        for (int round = 0; round < SESSIONS_PER_MACHINE; round++) {
+            for (int m = 0; m < MACHINES; m++) {
+                int slotId = 1 + (round + m) % SLOTS_PER_MACHINE;
+                sessions.add(fleet.purchase(m, slotId, payment).whenComplete((ok, error) -> {
+                    if (Boolean.TRUE.equals(ok)) {
+                        succeeded.incrementAndGet();
+                    }
+                }));
+            }
+        }
+        CompletableFuture.allOf(sessions.toArray(new CompletableFuture<?>[0])).join();
+        long elapsed = System.nanoTime() - start;
+        System.setOut(console);
+
+        long total = (long) MACHINES * SESSIONS_PER_MACHINE;
+        System.out.println("Machines: " + MACHINES + ", worker threads: " + threads);
+        System.out.println("Sessions: " + total + ", dispensed: " + succeeded.get() + ", elapsed: "
+                + elapsed / 1_000_000 + " ms");
+        System.out.println("Throughput: " + String.format("%.0f", total / (elapsed / 1e9)) + " transactions/s");
+        fleet.shutdown();
+    }
+
+    // PrintStream locks itself on every println, even over a null stream, which would put
+    // every machine behind one monitor. The machines only print strings and objects; those
+    // calls, and the raw writes, are dropped here before any lock is taken.
+    private static class DiscardingPrintStream extends PrintStream {
+        DiscardingPrintStream() {
+            super(OutputStream.nullOutputStream());
+        }
+
+        @Override
+        public void println(String x) {
+        }
+
+        @Override
+        public void println(Object x) {
+        }
+
+        @Override
+        public void println() {
+        }
+
+        @Override
+        public void print(String s) {
+        }
+
+        @Override
+        public void print(Object obj) {
+        }
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] buf, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package lld.vendingmechine.service;
+
+import lld.vendingmechine.model.Coin;
+import lld.vendingmechine.model.Slot;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class VendingFleetManager {
+    private final Map<Integer, MachineActor> machines = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    public VendingFleetManager() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public VendingFleetManager(int threads) {
+        this.executor = Executors.newFixedThreadPool(threads);
+    }
+
+    public MachineActor registerMachine(int machineId) {
+        MachineActor actor = new MachineActor(machineId, new VendingMachineManager(), executor);
+        if (machines.putIfAbsent(machineId, actor) != null) {
+            throw new IllegalArgumentException("Machine " + machineId + " already registered");
+        }
+        return actor;
+    }
+
+    public void removeMachine(int machineId) {
+        machines.remove(machineId);
+    }
+
+    public int getMachineCount() {
+        return machines.size();
+    }
+
+    public Collection<MachineActor> getMachines() {
+        return machines.values();
+    }
+
+    public CompletableFuture<Void> execute(int machineId, Consumer<VendingMachineManager> action) {
+        return ask(machineId, machine -> {
+            action.accept(machine);
+            return null;
+        });
+    }
+
+    public <T> CompletableFuture<T> ask(int machineId, Function<VendingMachineManager, T> query) {
+        MachineActor actor = machines.get(machineId);
+        if (actor == null) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalArgumentException("Unknown machine " + machineId));
+            return failed;
+        }
+        return actor.ask(query);
+    }
+
+    public CompletableFuture<Void> addSlot(int machineId, Slot slot) {
+        return execute(machineId, machine -> machine.addProductToSlot(slot));
+    }
+
+    // Runs a whole select -> pay -> dispense session as one message, so sessions on the
+    // same machine never interleave. Completes with true if an item left the slot.
+    public CompletableFuture<Boolean> purchase(int machineId, int slotId, List<Coin> coins) {
+        return ask(machineId, machine -> {
+            Slot slot = machine.getContext().getInventoryService().getSlot(slotId);
+            if (slot == null) {
+                return false;
+            }
+            int before = slot.getCurrentQuantity();
+            machine.selectProduct(slotId);
+            for (Coin coin : coins) {
+                machine.insertCoin(coin);
+            }
+            machine.dispenseProduct();
+            if (slot.getCurrentQuantity() == before) {
+                machine.cancelTransaction();
+                return false;
+            }
+            return true;
+        });
+    }
+
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
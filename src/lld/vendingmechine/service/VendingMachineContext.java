@@ -2,10 +2,13 @@ package lld.vendingmechine.service;
 
 import lld.vendingmechine.model.Coin;
 import lld.vendingmechine.model.Product;
+import lld.vendingmechine.model.SessionEvent;
+import lld.vendingmechine.model.SessionEventType;
 import lld.vendingmechine.model.Slot;
 import lld.vendingmechine.model.VendingMachineState;
 
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class VendingMachineContext {
     private VendingMachineState currentState;
@@ -13,6 +16,10 @@ public class VendingMachineContext {
     private InventoryService inventoryService;
     private ChangeService changeService;
     private CommandInvoker commandInvoker;
+    private List<StateTransitionListener> stateTransitionListeners = new CopyOnWriteArrayList<>();
+    private SessionLog sessionLog;
+    private int machineId;
+    private long sessionId;
 
     public VendingMachineContext(VendingMachineState currentState, PaymentService paymentService, InventoryService inventoryService) {
         this.currentState = currentState;
@@ -64,7 +71,19 @@ public class VendingMachineContext {
     public void  setState(VendingMachineState vendingMachineState){
         System.out.println("State transition: " +
                 currentState.getStateName() + " -> " + vendingMachineState.getStateName());
+        VendingMachineState previousState = currentState;
         this.currentState=vendingMachineState;
+        for (StateTransitionListener listener : stateTransitionListeners) {
+            listener.onStateTransition(previousState, vendingMachineState);
+        }
+    }
+
+    public void addStateTransitionListener(StateTransitionListener listener) {
+        stateTransitionListeners.add(listener);
+    }
+
+    public void removeStateTransitionListener(StateTransitionListener listener) {
+        stateTransitionListeners.remove(listener);
     }
     
     public void  setCurrentState(VendingMachineState vendingMachineState){
@@ -114,6 +133,34 @@ public class VendingMachineContext {
     public Product getProductFromSlot(int slotId) {
         return inventoryService.getProductFromSlot(slotId);
     }
+    public void enableSessionLog(int machineId, SessionLog sessionLog) {
+        this.machineId = machineId;
+        this.sessionLog = sessionLog;
+    }
+
+    public int getMachineId() {
+        return machineId;
+    }
+
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    // Recovery calls this so new sessions never reuse an id already in the log
+    public void restoreSessionId(long lastSessionId) {
+        this.sessionId = Math.max(this.sessionId, lastSessionId);
+    }
+
+    public void beginSession() {
+        sessionId++;
+    }
+
+    public void logSessionEvent(SessionEventType type, Coin coin) {
+        if (sessionLog != null) {
+            sessionLog.append(new SessionEvent(machineId, sessionId, type, selectedSlotId, coin));
+        }
+    }
+
     public void resetTransaction() {
         selectedSlotId = 0;
         selectedProduct = null;
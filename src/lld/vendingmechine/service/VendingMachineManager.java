@@ -64,6 +64,13 @@ public class VendingMachineManager {
     public void removeProductFromSlot(int slotId){
         inventoryService.removeSlot(slotId);
     }
+    public void enableSessionLog(int machineId, SessionLog sessionLog) {
+        context.enableSessionLog(machineId, sessionLog);
+    }
+    public void enableTelemetry(VendingTelemetry telemetry) {
+        inventoryService.addObserver(telemetry);
+        context.addStateTransitionListener(telemetry);
+    }
     public void displayAvailableProducts() {
         System.out.println("=== Available Products ===");
         for (Slot slot : context.getInventoryService().getAllSlots()) {
@@ -0,0 +1,107 @@
+package lld.vendingmechine.service;
+
+import lld.vendingmechine.model.VendingMachineState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Per-machine metrics aggregated into fixed time buckets: sales per slot, how long
+// slots sat empty, and how long the machine dwelt in each state. Recording is a
+// couple of counter increments; a TelemetryFileSink drains closed buckets in batches.
+public class VendingTelemetry implements InventoryObserver, StateTransitionListener {
+    private final int machineId;
+    private final long bucketMillis;
+    private final LongSupplier clock;
+    private final Map<Long, TelemetryBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> stockoutStartedAt = new ConcurrentHashMap<>();
+    private volatile long lastTransitionAt;
+
+    public VendingTelemetry(int machineId, long bucketMillis) {
+        this(machineId, bucketMillis, System::currentTimeMillis);
+    }
+
+    public VendingTelemetry(int machineId, long bucketMillis, LongSupplier clock) {
+        this.machineId = machineId;
+        this.bucketMillis = bucketMillis;
+        this.clock = clock;
+        this.lastTransitionAt = clock.getAsLong();
+    }
+
+    public int getMachineId() {
+        return machineId;
+    }
+
+    @Override
+    public void onProductDispensed(int slotId) {
+        bucketAt(clock.getAsLong()).count("sales", "slot-" + slotId, 1);
+    }
+
+    @Override
+    public void onSlotOutOfStock(int slotId) {
+        long now = clock.getAsLong();
+        stockoutStartedAt.putIfAbsent(slotId, now);
+        bucketAt(now).count("stockouts", "slot-" + slotId, 1);
+    }
+
+    // The whole stockout is booked in the bucket where it ends
+    @Override
+    public void onSlotRestocked(int slotId) {
+        Long startedAt = stockoutStartedAt.remove(slotId);
+        if (startedAt != null) {
+            long now = clock.getAsLong();
+            bucketAt(now).count("stockout_ms", "slot-" + slotId, now - startedAt);
+        }
+    }
+
+    @Override
+    public void onStateTransition(VendingMachineState from, VendingMachineState to) {
+        long now = clock.getAsLong();
+        long dwell = now - lastTransitionAt;
+        lastTransitionAt = now;
+        TelemetryBucket bucket = bucketAt(now);
+        bucket.count("dwell_ms", from.getStateName(), dwell);
+        bucket.count("transitions", from.getStateName() + "->" + to.getStateName(), 1);
+    }
+
+    // Removes buckets that can no longer change and returns them as CSV rows:
+    // bucketStart,machineId,metric,key,value. includeCurrent also drains the open bucket.
+    public List<String> drainBuckets(boolean includeCurrent) {
+        long currentBucket = bucketStart(clock.getAsLong());
+        List<String> rows = new ArrayList<>();
+        for (Long start : new ArrayList<>(buckets.keySet())) {
+            if (start < currentBucket || includeCurrent) {
+                TelemetryBucket bucket = buckets.remove(start);
+                if (bucket != null) {
+                    bucket.appendRows(start, machineId, rows);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private TelemetryBucket bucketAt(long timestamp) {
+        return buckets.computeIfAbsent(bucketStart(timestamp), start -> new TelemetryBucket());
+    }
+
+    private long bucketStart(long timestamp) {
+        return timestamp - Math.floorMod(timestamp, bucketMillis);
+    }
+
+    private static class TelemetryBucket {
+        private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+        void count(String metric, String key, long amount) {
+            counters.computeIfAbsent(metric + "," + key, k -> new LongAdder()).add(amount);
+        }
+
+        void appendRows(long start, int machineId, List<String> rows) {
+            for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+                rows.add(start + "," + machineId + "," + entry.getKey() + "," + entry.getValue().sum());
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package lld.vendingmechine.service;
+
+import lld.vendingmechine.model.Coin;
+import lld.vendingmechine.model.Product;
+import lld.vendingmechine.model.Slot;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class VendingTelemetryDemo {
+    public static void main(String[] args) throws Exception {
+        Path file = Files.createTempFile("vending-telemetry", ".csv");
+        try (TelemetryFileSink sink = new TelemetryFileSink(file, 200)) {
+            VendingMachineManager manager = new VendingMachineManager();
+            VendingTelemetry telemetry = new VendingTelemetry(1, 100);
+            manager.enableTelemetry(telemetry);
+            sink.register(telemetry);
+
+            Slot slot = new Slot();
+            slot.setId(1);
+            slot.setProduct(new Product(1, "Coke", 1.50));
+            slot.setCapacity(10);
+            slot.setCurrentQuantity(2);
+            slot.setOperational(true);
+            manager.addProductToSlot(slot);
+
+            for (int i = 0; i < 3; i++) {
+                manager.selectProduct(1);
+                Thread.sleep(30);
+                manager.insertCoin(Coin.DOLLAR);
+                manager.insertCoin(Coin.QUARTER);
+                manager.insertCoin(Coin.QUARTER);
+                Thread.sleep(20);
+                manager.dispenseProduct();
+                Thread.sleep(50);
+            }
+            // Slot ran dry after two sales; refill it and close the stockout window
+            Thread.sleep(150);
+            manager.getContext().getInventoryService().restockSlot(1, 10);
+        }
+
+        System.out.println("\n=== Telemetry file: " + file + " ===");
+        for (String line : Files.readAllLines(file)) {
+            System.out.println(line);
+        }
+    }
+}
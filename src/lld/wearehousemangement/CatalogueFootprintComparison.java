@@ -0,0 +1,58 @@
+package lld.wearehousemangement;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class CatalogueFootprintComparison {
+    private static final int PRODUCTS = 1_000_000;
+
+    public static void main(String[] args) {
+        ProductFactory productFactory = new ProductFactory();
+        ProductCategories[] categories = ProductCategories.values();
+
+        // SKU and name strings are created up front so both models hold the same text
+        String[] skus = new String[PRODUCTS];
+        String[] names = new String[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            skus[i] = "SKU" + i;
+            names[i] = "Product " + (i % 10_000);
+        }
+
+        long baseline = usedHeap();
+        Map<String, Product> objectModel = new HashMap<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = productFactory.createProduct(skus[i], names[i], categories[i % categories.length], 9.99 + i % 100, i % 50);
+            objectModel.put(product.getSku(), product);
+        }
+        long objectModelBytes = usedHeap() - baseline;
+
+        baseline = usedHeap();
+        ProductCatalogue catalogue = new ProductCatalogue(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            catalogue.add(skus[i], names[i], 9.99 + i % 100, categories[i % categories.length], i % 50);
+        }
+        long catalogueBytes = usedHeap() - baseline;
+
+        System.out.println("Products: " + PRODUCTS + " (SKU/name strings shared, excluded from both totals)");
+        System.out.println("Object model (HashMap<String, Product>): " + objectModelBytes / (1024 * 1024) + " MB, "
+                + objectModelBytes / PRODUCTS + " bytes/product");
+        System.out.println("Columnar ProductCatalogue:              " + catalogueBytes / (1024 * 1024) + " MB, "
+                + catalogueBytes / PRODUCTS + " bytes/product");
+
+        double objectValue = 0.0;
+        for (Product product : objectModel.values()) {
+            objectValue += product.getPrice() * product.getQuantity();
+        }
+        System.out.println("Total value check: " + String.format("%.2f", objectValue)
+                + " vs " + String.format("%.2f", catalogue.totalValue()));
+        System.out.println("Lookup check: " + catalogue.find("SKU123456").getName());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,146 @@
+package lld.wearehousemangement;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+// Forecasts per-SKU demand from the removal stream using exponentially weighted
+// mean and variance of demand per period, and reorders up to the level that covers
+// lead time plus review period at the configured service level.
+public class ForecastReplenishment implements ReplenishmentStrategy {
+    private static final long ONE_DAY_MILLIS = 24L * 60 * 60 * 1000;
+    // Beyond this many idle periods the decay has wiped out the history anyway
+    private static final int MAX_CATCH_UP_PERIODS = 64;
+
+    private final double alpha;
+    private final int leadTimePeriods;
+    private final int reviewPeriods;
+    private final double safetyFactor;
+    private final long periodMillis;
+    private final LongSupplier clock;
+    private final Map<String, DemandStats> demandBySku = new HashMap<>();
+
+    public ForecastReplenishment() {
+        // alpha 0.2 ~ 9 period memory, 3 day lead time, daily review, z = 1.65 (~95% service)
+        this(0.2, 3, 1, 1.65, ONE_DAY_MILLIS, System::currentTimeMillis);
+    }
+
+    public ForecastReplenishment(double alpha, int leadTimePeriods, int reviewPeriods, double safetyFactor,
+                                 long periodMillis, LongSupplier clock) {
+        if (alpha <= 0.0 || alpha > 1.0) {
+            throw new IllegalArgumentException("alpha must be in (0, 1]");
+        }
+        this.alpha = alpha;
+        this.leadTimePeriods = leadTimePeriods;
+        this.reviewPeriods = reviewPeriods;
+        this.safetyFactor = safetyFactor;
+        this.periodMillis = periodMillis;
+        this.clock = clock;
+    }
+
+    @Override
+    public void recordConsumption(String sku, int quantity) {
+        DemandStats stats = demandBySku.computeIfAbsent(sku, key -> new DemandStats());
+        stats.advanceTo(currentPeriod(), alpha);
+        stats.periodDemand += quantity;
+        stats.lastConsumed = quantity;
+    }
+
+    // Fires only when a removal crosses the reorder point, not on every later removal
+    @Override
+    public boolean needsReplenishment(String sku, int remainingQuantity) {
+        DemandStats stats = demandBySku.get(sku);
+        if (stats == null) {
+            return remainingQuantity <= 0;
+        }
+        int reorderPoint = reorderPoint(sku);
+        return remainingQuantity <= reorderPoint && remainingQuantity + stats.lastConsumed > reorderPoint;
+    }
+
+    @Override
+    public void replenish() {
+        System.out.println("📈 Forecast Replenishment Activated:");
+        for (String sku : demandBySku.keySet()) {
+            DemandStats stats = statsNow(sku);
+            System.out.println("   - Product " + sku + ": demand/period = " + String.format("%.2f", stats.mean)
+                    + " ± " + String.format("%.2f", Math.sqrt(stats.variance))
+                    + ", Reorder point = " + reorderPoint(sku) + ", Order-up-to level = " + orderUpToLevel(sku));
+        }
+        System.out.println("✅ Forecast replenishment completed - Orders sized from consumption history!");
+    }
+
+    public double forecastDemand(String sku) {
+        DemandStats stats = statsNow(sku);
+        return stats == null ? 0.0 : stats.mean;
+    }
+
+    public int reorderPoint(String sku) {
+        return coverage(sku, leadTimePeriods);
+    }
+
+    public int orderUpToLevel(String sku) {
+        return coverage(sku, leadTimePeriods + reviewPeriods);
+    }
+
+    public int reorderQuantity(String sku, int onHandAndOnOrder) {
+        return Math.max(0, orderUpToLevel(sku) - onHandAndOnOrder);
+    }
+
+    // Expected demand over the horizon plus safety stock for its standard deviation
+    private int coverage(String sku, int periods) {
+        DemandStats stats = statsNow(sku);
+        if (stats == null) {
+            return 0;
+        }
+        double expected = stats.mean * periods;
+        double safetyStock = safetyFactor * Math.sqrt(stats.variance * periods);
+        return (int) Math.ceil(expected + safetyStock);
+    }
+
+    private DemandStats statsNow(String sku) {
+        DemandStats stats = demandBySku.get(sku);
+        if (stats != null) {
+            stats.advanceTo(currentPeriod(), alpha);
+        }
+        return stats;
+    }
+
+    private long currentPeriod() {
+        return clock.getAsLong() / periodMillis;
+    }
+
+    private static class DemandStats {
+        long period = -1;
+        double periodDemand;
+        double mean;
+        double variance;
+        int observedPeriods;
+        int lastConsumed;
+
+        // Closes every period between the last event and now; idle periods count as zero demand
+        void advanceTo(long now, double alpha) {
+            if (period < 0) {
+                period = now;
+                return;
+            }
+            int steps = 0;
+            while (period < now && steps++ < MAX_CATCH_UP_PERIODS) {
+                observe(periodDemand, alpha);
+                periodDemand = 0;
+                period++;
+            }
+            period = Math.max(period, now);
+        }
+
+        private void observe(double demand, double alpha) {
+            if (observedPeriods++ == 0) {
+                mean = demand;
+                return;
+            }
+            double diff = demand - mean;
+            double increment = alpha * diff;
+            mean += increment;
+            variance = (1 - alpha) * (variance + diff * increment);
+        }
+    }
+}
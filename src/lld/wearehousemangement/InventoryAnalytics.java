@@ -0,0 +1,34 @@
+package lld.wearehousemangement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class InventoryAnalytics {
+    private final InventoryManager inventoryManager;
+
+    public InventoryAnalytics(InventoryManager inventoryManager) {
+        this.inventoryManager = inventoryManager;
+    }
+
+    // Warehouses are summarised in parallel, and each warehouse's products are split
+    // across the common fork-join pool as well, so one huge warehouse does not
+    // serialise the whole report. Meant for a quiescent inventory (e.g. nightly runs):
+    // Warehouse.products is a plain HashMap and must not be written during the report.
+    public InventoryReport generateReport() {
+        List<Warehouse> snapshot = new ArrayList<>(inventoryManager.warehouses);
+        return snapshot.parallelStream()
+                .map(this::summarize)
+                .collect(InventoryReport::new, InventoryReport::merge, InventoryReport::merge);
+    }
+
+    public InventoryReport generateReport(Warehouse warehouse) {
+        return summarize(warehouse);
+    }
+
+    private InventoryReport summarize(Warehouse warehouse) {
+        InventoryReport report = warehouse.products.values().parallelStream()
+                .collect(InventoryReport::new, InventoryReport::add, InventoryReport::merge);
+        report.addLocation(warehouse.location, report.getTotalValue(), report.getTotalUnits());
+        return report;
+    }
+}
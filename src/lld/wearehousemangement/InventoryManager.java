@@ -58,4 +58,8 @@ public class InventoryManager {
         }
         System.out.println("========================");
     }
+
+    public InventoryReport generateInventoryReport() {
+        return new InventoryAnalytics(this).generateReport();
+    }
 }
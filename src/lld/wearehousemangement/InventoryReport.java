@@ -0,0 +1,101 @@
+package lld.wearehousemangement;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+public class InventoryReport {
+    private static final ProductCategories[] CATEGORIES = ProductCategories.values();
+
+    private double totalValue;
+    private long totalUnits;
+    private long skuCount;
+    // Indexed by ProductCategories ordinal so the hot accumulate path never boxes
+    private final double[] valueByCategory = new double[CATEGORIES.length];
+    private final long[] unitsByCategory = new long[CATEGORIES.length];
+    private final Map<String, Double> valueByLocation = new HashMap<>();
+    private final Map<String, Long> unitsByLocation = new HashMap<>();
+
+    void add(Product product) {
+        int quantity = product.getQuantity();
+        double value = product.getPrice() * quantity;
+        int category = product.getProductCategories().ordinal();
+
+        totalValue += value;
+        totalUnits += quantity;
+        skuCount++;
+        valueByCategory[category] += value;
+        unitsByCategory[category] += quantity;
+    }
+
+    void addLocation(String location, double value, long units) {
+        valueByLocation.merge(location, value, Double::sum);
+        unitsByLocation.merge(location, units, Long::sum);
+    }
+
+    void merge(InventoryReport other) {
+        totalValue += other.totalValue;
+        totalUnits += other.totalUnits;
+        skuCount += other.skuCount;
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            valueByCategory[i] += other.valueByCategory[i];
+            unitsByCategory[i] += other.unitsByCategory[i];
+        }
+        other.valueByLocation.forEach((location, value) -> valueByLocation.merge(location, value, Double::sum));
+        other.unitsByLocation.forEach((location, units) -> unitsByLocation.merge(location, units, Long::sum));
+    }
+
+    public double getTotalValue() {
+        return totalValue;
+    }
+
+    public long getTotalUnits() {
+        return totalUnits;
+    }
+
+    public long getSkuCount() {
+        return skuCount;
+    }
+
+    public Map<ProductCategories, Double> getValueByCategory() {
+        Map<ProductCategories, Double> result = new EnumMap<>(ProductCategories.class);
+        for (ProductCategories category : CATEGORIES) {
+            result.put(category, valueByCategory[category.ordinal()]);
+        }
+        return result;
+    }
+
+    public Map<ProductCategories, Long> getUnitsByCategory() {
+        Map<ProductCategories, Long> result = new EnumMap<>(ProductCategories.class);
+        for (ProductCategories category : CATEGORIES) {
+            result.put(category, unitsByCategory[category.ordinal()]);
+        }
+        return result;
+    }
+
+    public Map<String, Double> getValueByLocation() {
+        return Collections.unmodifiableMap(valueByLocation);
+    }
+
+    public Map<String, Long> getUnitsByLocation() {
+        return Collections.unmodifiableMap(unitsByLocation);
+    }
+
+    public void printReport() {
+        System.out.println("=== Inventory Valuation Report ===");
+        System.out.println("SKUs: " + skuCount + ", Units: " + totalUnits
+                + ", Total value: $" + String.format("%.2f", totalValue));
+        System.out.println("By category:");
+        for (ProductCategories category : CATEGORIES) {
+            System.out.println("- " + category + ": " + unitsByCategory[category.ordinal()] + " units, $"
+                    + String.format("%.2f", valueByCategory[category.ordinal()]));
+        }
+        System.out.println("By location:");
+        for (Map.Entry<String, Double> entry : valueByLocation.entrySet()) {
+            System.out.println("- " + entry.getKey() + ": " + unitsByLocation.get(entry.getKey()) + " units, $"
+                    + String.format("%.2f", entry.getValue()));
+        }
+        System.out.println("==================================");
+    }
+}
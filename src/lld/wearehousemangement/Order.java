@@ -0,0 +1,44 @@
+package lld.wearehousemangement;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class Order {
+    private final String orderId;
+    private final String destination;
+    private final Map<String, Integer> lines;
+
+    public Order(String orderId, String destination) {
+        this.orderId = orderId;
+        this.destination = destination;
+        this.lines = new LinkedHashMap<>();
+    }
+
+    public Order addLine(String sku, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive for SKU " + sku);
+        }
+        lines.merge(sku, quantity, Integer::sum);
+        return this;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public Map<String, Integer> getLines() {
+        return lines;
+    }
+
+    public int getTotalUnits() {
+        int total = 0;
+        for (int quantity : lines.values()) {
+            total += quantity;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,55 @@
+package lld.wearehousemangement;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class OrderAllocation {
+    private final Order order;
+    private final Map<Warehouse, Map<String, Integer>> shipments;
+    private final Map<String, Integer> backorders;
+    private final double totalCost;
+
+    OrderAllocation(Order order, Map<Warehouse, Map<String, Integer>> shipments,
+                    Map<String, Integer> backorders, double totalCost) {
+        this.order = order;
+        this.shipments = shipments;
+        this.backorders = backorders;
+        this.totalCost = totalCost;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public Map<Warehouse, Map<String, Integer>> getShipments() {
+        return shipments;
+    }
+
+    public Map<String, Integer> getBackorders() {
+        return backorders;
+    }
+
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    public boolean isFullyAllocated() {
+        return backorders.isEmpty();
+    }
+
+    public void printAllocation() {
+        System.out.println("=== Allocation for order " + order.getOrderId() + " -> " + order.getDestination() + " ===");
+        for (Map.Entry<Warehouse, Map<String, Integer>> entry : shipments.entrySet()) {
+            System.out.println("- " + entry.getKey().name + " (" + entry.getKey().location + "): " + entry.getValue());
+        }
+        if (!backorders.isEmpty()) {
+            System.out.println("- Backordered: " + backorders);
+        }
+        System.out.println("Shipping cost: $" + String.format("%.2f", totalCost));
+        System.out.println("================================");
+    }
+
+    static OrderAllocation empty(Order order) {
+        return new OrderAllocation(order, new LinkedHashMap<>(), new LinkedHashMap<>(order.getLines()), 0.0);
+    }
+}
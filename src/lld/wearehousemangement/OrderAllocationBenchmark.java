@@ -0,0 +1,84 @@
+package lld.wearehousemangement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class OrderAllocationBenchmark {
+    private static final int WAREHOUSES = 40;
+    private static final int CATALOGUE_SIZE = 50_000;
+    private static final int SKUS_PER_WAREHOUSE = 15_000;
+    private static final int ORDERS = 100_000;
+    private static final int MAX_LINES_PER_ORDER = 8;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        ProductFactory productFactory = new ProductFactory();
+
+        List<String> locations = new ArrayList<>();
+        for (int i = 0; i < WAREHOUSES; i++) {
+            locations.add("City-" + i);
+        }
+
+        // Locations sit on a line, so unit cost grows with the index distance
+        ShippingCostTable costTable = new ShippingCostTable(locations, 12.0);
+        for (int i = 0; i < WAREHOUSES; i++) {
+            for (int j = i + 1; j < WAREHOUSES; j++) {
+                costTable.setUnitCost(locations.get(i), locations.get(j), 0.5 + 0.25 * (j - i));
+            }
+        }
+
+        List<Warehouse> warehouses = new ArrayList<>();
+        for (int i = 0; i < WAREHOUSES; i++) {
+            Warehouse warehouse = new Warehouse(i, locations.get(i), "Warehouse-" + i);
+            for (int s = 0; s < SKUS_PER_WAREHOUSE; s++) {
+                String sku = "SKU" + random.nextInt(CATALOGUE_SIZE);
+                Product product = productFactory.createProduct(sku, sku, ProductCategories.RETAIL, 10.0, 0);
+                warehouse.addProduct(product, 1 + random.nextInt(20));
+            }
+            warehouses.add(warehouse);
+        }
+
+        OrderAllocator allocator = new OrderAllocator(warehouses, costTable);
+        Order[] orders = new Order[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order("ORD" + i, locations.get(random.nextInt(WAREHOUSES)));
+            int lines = 1 + random.nextInt(MAX_LINES_PER_ORDER);
+            for (int l = 0; l < lines; l++) {
+                order.addLine("SKU" + random.nextInt(CATALOGUE_SIZE), 1 + random.nextInt(10));
+            }
+            orders[i] = order;
+        }
+
+        System.out.println("Warehouses: " + WAREHOUSES + ", catalogue: " + CATALOGUE_SIZE
+                + " SKUs, stocked lines: " + (WAREHOUSES * SKUS_PER_WAREHOUSE));
+
+        // Warm-up so the JIT has compiled the allocation path before timing
+        for (int i = 0; i < 20_000; i++) {
+            allocator.allocate(orders[i % ORDERS]);
+        }
+
+        long[] latencies = new long[ORDERS];
+        int fullyAllocated = 0;
+        int shipments = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ORDERS; i++) {
+            long t0 = System.nanoTime();
+            OrderAllocation allocation = allocator.allocate(orders[i]);
+            latencies[i] = System.nanoTime() - t0;
+            if (allocation.isFullyAllocated()) {
+                fullyAllocated++;
+            }
+            shipments += allocation.getShipments().size();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        System.out.println("Orders allocated: " + ORDERS + " in " + (elapsed / 1_000_000) + " ms");
+        System.out.println("Fully allocated: " + fullyAllocated + ", avg shipments/order: "
+                + String.format("%.2f", (double) shipments / ORDERS));
+        System.out.println("Latency p50: " + latencies[ORDERS / 2] / 1000.0 + " us, p99: "
+                + latencies[(int) (ORDERS * 0.99)] / 1000.0 + " us, max: " + latencies[ORDERS - 1] / 1000.0 + " us");
+    }
+}
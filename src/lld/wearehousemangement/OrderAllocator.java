@@ -0,0 +1,179 @@
+package lld.wearehousemangement;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class OrderAllocator {
+    private final List<Warehouse> warehouses;
+    private final ShippingCostTable costTable;
+    // Destination -> reachable warehouses ordered by per-unit shipping cost
+    private final Map<String, Warehouse[]> rankingCache = new HashMap<>();
+
+    public OrderAllocator(List<Warehouse> warehouses, ShippingCostTable costTable) {
+        this.warehouses = warehouses;
+        this.costTable = costTable;
+    }
+
+    public OrderAllocator(InventoryManager inventoryManager, ShippingCostTable costTable) {
+        this(inventoryManager.warehouses, costTable);
+    }
+
+    // Call after warehouses are added or removed so rankings are rebuilt
+    public void refreshWarehouses() {
+        rankingCache.clear();
+    }
+
+    public OrderAllocation allocate(Order order) {
+        Warehouse[] ranked = rankedWarehouses(order.getDestination());
+        if (ranked.length == 0) {
+            return OrderAllocation.empty(order);
+        }
+
+        OrderAllocation single = allocateFromSingleWarehouse(order, ranked);
+        OrderAllocation split = allocateSplit(order, ranked);
+        if (single == null) {
+            return split;
+        }
+        if (!split.isFullyAllocated() || single.getTotalCost() <= split.getTotalCost()) {
+            return single;
+        }
+        return split;
+    }
+
+    // Stock can change between allocate and commit, so every line is taken out of stock
+    // quietly first; if one falls short the rest are put back and nothing was published.
+    // Events, consumption tracking and replenishment only run once the whole order is taken.
+    public void commit(OrderAllocation allocation) {
+        List<Removal> taken = new ArrayList<>();
+        for (Map.Entry<Warehouse, Map<String, Integer>> shipment : allocation.getShipments().entrySet()) {
+            Warehouse warehouse = shipment.getKey();
+            for (Map.Entry<String, Integer> line : shipment.getValue().entrySet()) {
+                if (!warehouse.takeStock(line.getKey(), line.getValue())) {
+                    for (Removal removal : taken) {
+                        removal.warehouse.returnStock(removal.sku, removal.quantity);
+                    }
+                    throw new IllegalStateException("Warehouse " + warehouse.name + " no longer holds "
+                            + line.getValue() + " of " + line.getKey());
+                }
+                taken.add(new Removal(warehouse, line.getKey(), line.getValue()));
+            }
+        }
+        for (Removal removal : taken) {
+            removal.warehouse.recordRemoval(removal.sku, removal.quantity);
+        }
+    }
+
+    // Rankings are by unit cost and the fixed cost is the same for every shipment,
+    // so the first warehouse holding the whole order is the cheapest single source.
+    private OrderAllocation allocateFromSingleWarehouse(Order order, Warehouse[] ranked) {
+        for (Warehouse warehouse : ranked) {
+            if (canFulfil(warehouse, order)) {
+                Map<Warehouse, Map<String, Integer>> shipments = new LinkedHashMap<>();
+                shipments.put(warehouse, new LinkedHashMap<>(order.getLines()));
+                double cost = costTable.shipmentCost(warehouse.location, order.getDestination(), order.getTotalUnits());
+                return new OrderAllocation(order, shipments, new LinkedHashMap<>(), cost);
+            }
+        }
+        return null;
+    }
+
+    // Greedy split: each line is filled from the warehouse with the lowest marginal
+    // cost per unit, where opening a new shipment spreads the fixed cost over the
+    // units it would take. Already-opened warehouses therefore win ties.
+    private OrderAllocation allocateSplit(Order order, Warehouse[] ranked) {
+        String destination = order.getDestination();
+        double fixedCost = costTable.getFixedCostPerShipment();
+        double[] unitCosts = new double[ranked.length];
+        for (int i = 0; i < ranked.length; i++) {
+            unitCosts[i] = costTable.getUnitCost(ranked[i].location, destination);
+        }
+
+        Map<Warehouse, Map<String, Integer>> shipments = new LinkedHashMap<>();
+        Map<String, Integer> backorders = new LinkedHashMap<>();
+        double totalCost = 0.0;
+
+        for (Map.Entry<String, Integer> line : order.getLines().entrySet()) {
+            String sku = line.getKey();
+            int remaining = line.getValue();
+            // Stock already promised to this line in earlier iterations is tracked per warehouse index
+            int[] taken = new int[ranked.length];
+
+            while (remaining > 0) {
+                int best = -1;
+                int bestTake = 0;
+                double bestMarginal = Double.POSITIVE_INFINITY;
+                for (int i = 0; i < ranked.length; i++) {
+                    int take = Math.min(remaining, availableQuantity(ranked[i], sku) - taken[i]);
+                    if (take <= 0) {
+                        continue;
+                    }
+                    boolean opened = shipments.containsKey(ranked[i]);
+                    double marginal = unitCosts[i] + (opened ? 0.0 : fixedCost / take);
+                    if (marginal < bestMarginal) {
+                        best = i;
+                        bestTake = take;
+                        bestMarginal = marginal;
+                    }
+                }
+                if (best < 0) {
+                    backorders.put(sku, remaining);
+                    break;
+                }
+
+                Warehouse warehouse = ranked[best];
+                if (!shipments.containsKey(warehouse)) {
+                    shipments.put(warehouse, new LinkedHashMap<>());
+                    totalCost += fixedCost;
+                }
+                shipments.get(warehouse).merge(sku, bestTake, Integer::sum);
+                totalCost += unitCosts[best] * bestTake;
+                taken[best] += bestTake;
+                remaining -= bestTake;
+            }
+        }
+        return new OrderAllocation(order, shipments, backorders, totalCost);
+    }
+
+    private boolean canFulfil(Warehouse warehouse, Order order) {
+        for (Map.Entry<String, Integer> line : order.getLines().entrySet()) {
+            if (availableQuantity(warehouse, line.getKey()) < line.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int availableQuantity(Warehouse warehouse, String sku) {
+        Product product = warehouse.products.get(sku);
+        return product == null ? 0 : product.getQuantity();
+    }
+
+    private Warehouse[] rankedWarehouses(String destination) {
+        return rankingCache.computeIfAbsent(destination, dest -> {
+            List<Warehouse> reachable = new ArrayList<>();
+            for (Warehouse warehouse : warehouses) {
+                if (costTable.getUnitCost(warehouse.location, dest) != Double.POSITIVE_INFINITY) {
+                    reachable.add(warehouse);
+                }
+            }
+            reachable.sort(Comparator.comparingDouble(warehouse -> costTable.getUnitCost(warehouse.location, dest)));
+            return reachable.toArray(new Warehouse[0]);
+        });
+    }
+
+    private static class Removal {
+        final Warehouse warehouse;
+        final String sku;
+        final int quantity;
+
+        Removal(Warehouse warehouse, String sku, int quantity) {
+            this.warehouse = warehouse;
+            this.sku = sku;
+            this.quantity = quantity;
+        }
+    }
+}
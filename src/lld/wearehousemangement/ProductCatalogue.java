@@ -0,0 +1,241 @@
+package lld.wearehousemangement;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+// Column-oriented product store: one array per attribute instead of one object per
+// product. Each SKU string is held exactly once (in skus[]) and is referred to by its
+// int position everywhere else; the SKU lookup table is an open-addressing int[] so
+// no boxed Integer or map entry is allocated per product. Subclass-only attributes
+// (brand, warranty, color, size) stay in the object model.
+public class ProductCatalogue {
+    private static final ProductCategories[] CATEGORIES = ProductCategories.values();
+
+    private String[] skus;
+    private String[] names;
+    private double[] prices;
+    private int[] quantities;
+    private byte[] categories;
+    private int size;
+
+    // Slot holds (product index + 1); 0 marks an empty slot
+    private int[] lookup;
+
+    public ProductCatalogue() {
+        this(16);
+    }
+
+    public ProductCatalogue(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        skus = new String[capacity];
+        names = new String[capacity];
+        prices = new double[capacity];
+        quantities = new int[capacity];
+        categories = new byte[capacity];
+        lookup = new int[tableSizeFor(capacity)];
+    }
+
+    public static ProductCatalogue from(Collection<Product> products) {
+        ProductCatalogue catalogue = new ProductCatalogue(products.size());
+        for (Product product : products) {
+            catalogue.add(product.getSku(), product.getName(), product.getPrice(),
+                    product.getProductCategories(), product.getQuantity());
+        }
+        return catalogue;
+    }
+
+    // Mirrors Warehouse.addProduct: an existing SKU just gains quantity
+    public int add(String sku, String name, double price, ProductCategories category, int quantity) {
+        int existing = indexOf(sku);
+        if (existing >= 0) {
+            quantities[existing] += quantity;
+            return existing;
+        }
+        if (size == skus.length) {
+            grow();
+        }
+        int index = size++;
+        skus[index] = sku;
+        names[index] = name;
+        prices[index] = price;
+        quantities[index] = quantity;
+        categories[index] = (byte) category.ordinal();
+        insertIntoLookup(index);
+        return index;
+    }
+
+    public int indexOf(String sku) {
+        int mask = lookup.length - 1;
+        for (int slot = mix(sku.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int entry = lookup[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            if (skus[entry - 1].equals(sku)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getSku(int index) {
+        return skus[checkIndex(index)];
+    }
+
+    public String getName(int index) {
+        return names[checkIndex(index)];
+    }
+
+    public double getPrice(int index) {
+        return prices[checkIndex(index)];
+    }
+
+    public int getQuantity(int index) {
+        return quantities[checkIndex(index)];
+    }
+
+    public ProductCategories getCategory(int index) {
+        return CATEGORIES[categories[checkIndex(index)]];
+    }
+
+    public void setQuantity(int index, int quantity) {
+        quantities[checkIndex(index)] = quantity;
+    }
+
+    public void setPrice(int index, double price) {
+        prices[checkIndex(index)] = price;
+    }
+
+    public double totalValue() {
+        double total = 0.0;
+        for (int i = 0; i < size; i++) {
+            total += prices[i] * quantities[i];
+        }
+        return total;
+    }
+
+    // A Product backed by this catalogue; reads and writes go straight to the columns
+    public Product view(int index) {
+        return new ProductView(this, checkIndex(index));
+    }
+
+    public Product find(String sku) {
+        int index = indexOf(sku);
+        return index < 0 ? null : new ProductView(this, index);
+    }
+
+    // Visits every product through one reused view, so nothing is allocated per
+    // product. The view is repositioned after each call and must not be retained.
+    public void forEach(Consumer<Product> action) {
+        ProductView view = new ProductView(this, 0);
+        for (int i = 0; i < size; i++) {
+            view.index = i;
+            action.accept(view);
+        }
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for catalogue of " + size);
+        }
+        return index;
+    }
+
+    private void grow() {
+        int capacity = skus.length * 2;
+        skus = Arrays.copyOf(skus, capacity);
+        names = Arrays.copyOf(names, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+
+        lookup = new int[tableSizeFor(capacity)];
+        for (int i = 0; i < size; i++) {
+            insertIntoLookup(i);
+        }
+    }
+
+    private void insertIntoLookup(int index) {
+        int mask = lookup.length - 1;
+        int slot = mix(skus[index].hashCode()) & mask;
+        while (lookup[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        lookup[slot] = index + 1;
+    }
+
+    // Keeps the lookup table at most half full
+    private static int tableSizeFor(int capacity) {
+        int tableSize = Integer.highestOneBit(capacity) << 1;
+        return tableSize < capacity * 2 ? tableSize << 1 : tableSize;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    static class ProductView extends Product {
+        private final ProductCatalogue catalogue;
+        private int index;
+
+        ProductView(ProductCatalogue catalogue, int index) {
+            super(null, 0.0, null, 0, null);
+            this.catalogue = catalogue;
+            this.index = index;
+        }
+
+        @Override
+        public String getName() {
+            return catalogue.names[index];
+        }
+
+        @Override
+        public void setName(String name) {
+            catalogue.names[index] = name;
+        }
+
+        @Override
+        public double getPrice() {
+            return catalogue.prices[index];
+        }
+
+        @Override
+        public void setPrice(double price) {
+            catalogue.prices[index] = price;
+        }
+
+        @Override
+        public ProductCategories getProductCategories() {
+            return CATEGORIES[catalogue.categories[index]];
+        }
+
+        @Override
+        public void setProductCategories(ProductCategories productCategories) {
+            catalogue.categories[index] = (byte) productCategories.ordinal();
+        }
+
+        @Override
+        public int getQuantity() {
+            return catalogue.quantities[index];
+        }
+
+        @Override
+        public void setQuantity(int quantity) {
+            catalogue.quantities[index] = quantity;
+        }
+
+        @Override
+        public String getSku() {
+            return catalogue.skus[index];
+        }
+
+        @Override
+        public void setSku(String sku) {
+            throw new UnsupportedOperationException("SKU is the catalogue key and cannot be changed");
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package lld.wearehousemangement;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Replays the same synthetic daily demand against a fixed reorder-point policy and
+// ForecastReplenishment, and reports stockouts and holding cost for each.
+public class ReplenishmentSimulation {
+    private static final int SKUS = 2_000;
+    private static final int DAYS = 365;
+    private static final int LEAD_TIME_DAYS = 3;
+    private static final double HOLDING_COST_PER_UNIT_DAY = 0.05;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    // Fixed thresholds in the spirit of AutoMaticReplishment's reorder point + safety stock
+    private static final int STATIC_REORDER_POINT = 10;
+    private static final int STATIC_ORDER_QUANTITY = 35;
+
+    private interface Policy {
+        void consumed(String sku, int quantity);
+
+        int orderQuantity(String sku, int inventoryPosition);
+    }
+
+    public static void main(String[] args) {
+        int[][] demand = generateDemand(new Random(7));
+        String[] skus = new String[SKUS];
+        for (int i = 0; i < SKUS; i++) {
+            skus[i] = "SKU" + i;
+        }
+
+        simulate("Fixed reorder point (" + STATIC_REORDER_POINT + "/" + STATIC_ORDER_QUANTITY + ")", skus, demand,
+                new AtomicLong(), new Policy() {
+                    @Override
+                    public void consumed(String sku, int quantity) {
+                    }
+
+                    @Override
+                    public int orderQuantity(String sku, int inventoryPosition) {
+                        return inventoryPosition <= STATIC_REORDER_POINT ? STATIC_ORDER_QUANTITY : 0;
+                    }
+                });
+
+        AtomicLong clock = new AtomicLong();
+        ForecastReplenishment forecast = new ForecastReplenishment(0.2, LEAD_TIME_DAYS, 1, 1.65, DAY_MILLIS, clock::get);
+        simulate("Forecast (EWMA, z=1.65)", skus, demand, clock, new Policy() {
+            @Override
+            public void consumed(String sku, int quantity) {
+                forecast.recordConsumption(sku, quantity);
+            }
+
+            @Override
+            public int orderQuantity(String sku, int inventoryPosition) {
+                return inventoryPosition <= forecast.reorderPoint(sku)
+                        ? forecast.reorderQuantity(sku, inventoryPosition) : 0;
+            }
+        });
+    }
+
+    private static void simulate(String label, String[] skus, int[][] demand, AtomicLong clock, Policy policy) {
+        int[] onHand = new int[SKUS];
+        int[][] arrivals = new int[SKUS][DAYS + LEAD_TIME_DAYS + 1];
+        int[] onOrder = new int[SKUS];
+        Arrays.fill(onHand, STATIC_ORDER_QUANTITY);
+
+        long demanded = 0;
+        long unmet = 0;
+        long stockoutDays = 0;
+        double holdingCost = 0.0;
+        long start = System.nanoTime();
+
+        for (int day = 0; day < DAYS; day++) {
+            clock.set(day * DAY_MILLIS);
+            for (int s = 0; s < SKUS; s++) {
+                onHand[s] += arrivals[s][day];
+                onOrder[s] -= arrivals[s][day];
+
+                int want = demand[s][day];
+                int served = Math.min(want, onHand[s]);
+                onHand[s] -= served;
+                demanded += want;
+                unmet += want - served;
+                if (served < want) {
+                    stockoutDays++;
+                }
+                // The forecast sees requested demand, not just what was on the shelf
+                if (want > 0) {
+                    policy.consumed(skus[s], want);
+                }
+
+                int quantity = policy.orderQuantity(skus[s], onHand[s] + onOrder[s]);
+                if (quantity > 0) {
+                    arrivals[s][day + LEAD_TIME_DAYS] += quantity;
+                    onOrder[s] += quantity;
+                }
+                holdingCost += onHand[s] * HOLDING_COST_PER_UNIT_DAY;
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("=== " + label + " ===");
+        System.out.println("Fill rate: " + String.format("%.2f%%", 100.0 * (demanded - unmet) / demanded)
+                + ", unmet units: " + unmet + ", SKU stockout days: " + stockoutDays);
+        System.out.println("Holding cost: $" + String.format("%.2f", holdingCost)
+                + " (" + SKUS + " SKUs x " + DAYS + " days simulated in " + elapsedMillis + " ms)");
+    }
+
+    // Per-SKU base rate with weekly seasonality and a slow trend, plus noise
+    private static int[][] generateDemand(Random random) {
+        int[][] demand = new int[SKUS][DAYS];
+        for (int s = 0; s < SKUS; s++) {
+            double base = 1 + random.nextInt(20);
+            double trend = (random.nextDouble() - 0.5) * base / DAYS;
+            for (int day = 0; day < DAYS; day++) {
+                double rate = base + trend * day + 0.3 * base * Math.sin(2 * Math.PI * day / 7);
+                double sample = rate + Math.sqrt(Math.max(rate, 0)) * random.nextGaussian();
+                demand[s][day] = (int) Math.max(0, Math.round(sample));
+            }
+        }
+        return demand;
+    }
+}
@@ -2,4 +2,13 @@ package lld.wearehousemangement;
 
 public interface ReplenishmentStrategy {
     void replenish();
+
+    // Called by Warehouse after every successful removal
+    default void recordConsumption(String sku, int quantity) {
+    }
+
+    // Called with the stock left after a removal that did not deplete the SKU
+    default boolean needsReplenishment(String sku, int remainingQuantity) {
+        return remainingQuantity <= 0;
+    }
 }
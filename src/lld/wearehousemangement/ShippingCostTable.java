@@ -0,0 +1,58 @@
+package lld.wearehousemangement;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ShippingCostTable {
+    private final Map<String, Integer> locationIndex = new HashMap<>();
+    // Dense location x location matrix; unknown routes stay at infinity (unreachable)
+    private final double[][] unitCost;
+    private final double fixedCostPerShipment;
+
+    public ShippingCostTable(List<String> locations, double fixedCostPerShipment) {
+        for (String location : locations) {
+            locationIndex.putIfAbsent(location, locationIndex.size());
+        }
+        int size = locationIndex.size();
+        this.unitCost = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            Arrays.fill(unitCost[i], Double.POSITIVE_INFINITY);
+            unitCost[i][i] = 0.0;
+        }
+        this.fixedCostPerShipment = fixedCostPerShipment;
+    }
+
+    public void setUnitCost(String from, String to, double cost) {
+        int i = indexOf(from);
+        int j = indexOf(to);
+        unitCost[i][j] = cost;
+        unitCost[j][i] = cost;
+    }
+
+    public double getUnitCost(String from, String to) {
+        Integer i = locationIndex.get(from);
+        Integer j = locationIndex.get(to);
+        if (i == null || j == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return unitCost[i][j];
+    }
+
+    public double getFixedCostPerShipment() {
+        return fixedCostPerShipment;
+    }
+
+    public double shipmentCost(String from, String to, int units) {
+        return fixedCostPerShipment + getUnitCost(from, to) * units;
+    }
+
+    private int indexOf(String location) {
+        Integer index = locationIndex.get(location);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown location: " + location);
+        }
+        return index;
+    }
+}
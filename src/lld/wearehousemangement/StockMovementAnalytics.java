@@ -0,0 +1,51 @@
+package lld.wearehousemangement;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+// Sample downstream consumer: tallies events and units moved per type and per SKU.
+// onNext calls are serialised by the publisher, so plain maps are safe here;
+// read the totals after awaitCompletion.
+public class StockMovementAnalytics extends WarehouseEventSubscriber {
+    private final Map<WarehouseEventType, Long> eventsByType = new EnumMap<>(WarehouseEventType.class);
+    private final Map<String, Long> unitsRemovedBySku = new HashMap<>();
+    private long unitsAdded;
+    private long unitsRemoved;
+
+    public StockMovementAnalytics() {
+        super(256);
+    }
+
+    @Override
+    protected void onEvent(WarehouseEvent event) {
+        eventsByType.merge(event.getType(), 1L, Long::sum);
+        switch (event.getType()) {
+            case STOCK_ADDED:
+                unitsAdded += event.getQuantity();
+                break;
+            case STOCK_REMOVED:
+                unitsRemoved += event.getQuantity();
+                unitsRemovedBySku.merge(event.getSku(), (long) event.getQuantity(), Long::sum);
+                break;
+            default:
+                break;
+        }
+    }
+
+    public Map<WarehouseEventType, Long> getEventsByType() {
+        return eventsByType;
+    }
+
+    public Map<String, Long> getUnitsRemovedBySku() {
+        return unitsRemovedBySku;
+    }
+
+    public long getUnitsAdded() {
+        return unitsAdded;
+    }
+
+    public long getUnitsRemoved() {
+        return unitsRemoved;
+    }
+}
@@ -10,6 +10,7 @@ public class Warehouse {
     Map<String,Product> products;
     InventoryManager inventoryManager;
     ReplenishmentStrategy replenishmentStrategy;
+    WarehouseEventPublisher eventPublisher;
 
 
 
@@ -26,39 +27,68 @@ public class Warehouse {
         if (products.containsKey(product.getSku())){
             Product existingProduct=products.get(product.getSku());
             existingProduct.setQuantity(existingProduct.getQuantity() + quantity);
+            publishEvent(WarehouseEventType.STOCK_ADDED, product.getSku(), quantity, existingProduct.getQuantity());
         }else {
             product.setQuantity(quantity);
             products.put(product.getSku(),product);
+            publishEvent(WarehouseEventType.STOCK_ADDED, product.getSku(), quantity, quantity);
         }
     }
     
     public boolean removeProduct(String sku,int quantity){
         if (products.containsKey(sku)){
-            Product existingProduct=products.get(sku);
-            if (existingProduct.getQuantity() >= quantity){
-                existingProduct.setQuantity(existingProduct.getQuantity() - quantity);
-                if (existingProduct.getQuantity() <= 0){
-                    products.remove(sku);
-                    System.out.println("Product " + existingProduct.getName()
-                            + " removed from inventory as quantity is now zero.");
-                    
-                    // Trigger replenishment when product is depleted
-                    triggerReplenishment();
-                    return true;
-                }
-            } else {
-                System.out.println("Insufficient quantity. Available: " + existingProduct.getQuantity());
+            if (!takeStock(sku, quantity)){
+                System.out.println("Insufficient quantity. Available: " + products.get(sku).getQuantity());
                 return false;
             }
+            recordRemoval(sku, quantity);
         }else {
             System.out.println("Product not exist");
             return false;
         }
         return true;
     }
+
+    // Takes quantity out of stock without publishing or tracking anything, so it can be
+    // undone with returnStock; returns false and leaves stock untouched if it falls short
+    boolean takeStock(String sku, int quantity){
+        Product existingProduct=products.get(sku);
+        if (existingProduct == null || existingProduct.getQuantity() < quantity){
+            return false;
+        }
+        existingProduct.setQuantity(existingProduct.getQuantity() - quantity);
+        return true;
+    }
+
+    // Puts back stock taken by takeStock that is not going to ship
+    void returnStock(String sku, int quantity){
+        Product existingProduct=products.get(sku);
+        existingProduct.setQuantity(existingProduct.getQuantity() + quantity);
+    }
+
+    // Consumption tracking, events and replenishment for stock already taken by takeStock
+    void recordRemoval(String sku, int quantity){
+        Product existingProduct=products.get(sku);
+        replenishmentStrategy.recordConsumption(sku, quantity);
+        publishEvent(WarehouseEventType.STOCK_REMOVED, sku, quantity, existingProduct.getQuantity());
+        if (existingProduct.getQuantity() <= 0){
+            products.remove(sku);
+            publishEvent(WarehouseEventType.STOCK_DEPLETED, sku, 0, 0);
+            System.out.println("Product " + existingProduct.getName()
+                    + " removed from inventory as quantity is now zero.");
+
+            // Trigger replenishment when product is depleted
+            triggerReplenishment();
+            return;
+        }
+        if (replenishmentStrategy.needsReplenishment(sku, existingProduct.getQuantity())){
+            triggerReplenishment();
+        }
+    }
     
     public void triggerReplenishment() {
         System.out.println("Triggering replenishment for warehouse: " + name);
+        publishEvent(WarehouseEventType.REPLENISHMENT_TRIGGERED, null, 0, 0);
         replenishmentStrategy.replenish();
     }
     
@@ -67,6 +97,16 @@ public class Warehouse {
         this.replenishmentStrategy = newStrategy;
     }
     
+    public void setEventPublisher(WarehouseEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+    
+    private void publishEvent(WarehouseEventType type, String sku, int quantity, int remainingQuantity) {
+        if (eventPublisher != null) {
+            eventPublisher.publish(new WarehouseEvent(type, id, sku, quantity, remainingQuantity));
+        }
+    }
+    
     public void addWarehouseToInventoryManager() {
         inventoryManager.warehouses.add(this);
         System.out.println("Warehouse " + name + " added to inventory manager");
@@ -1,5 +1,7 @@
 package lld.wearehousemangement;
 
+import java.util.Arrays;
+
 public class WarehouseDemo {
     public static void main(String[] args) {
         // Get inventory manager instance
@@ -26,6 +28,17 @@ public class WarehouseDemo {
         mainWarehouse.checkInventoryStatus();
         secondaryWarehouse.checkInventoryStatus();
         
+        // Aggregate valuation across all warehouses
+        inventoryManager.generateInventoryReport().printReport();
+        
+        // Pick the cheapest warehouses for a customer order
+        ShippingCostTable costTable = new ShippingCostTable(Arrays.asList("New York", "Los Angeles", "Chicago"), 10.0);
+        costTable.setUnitCost("New York", "Chicago", 1.5);
+        costTable.setUnitCost("Los Angeles", "Chicago", 2.5);
+        costTable.setUnitCost("New York", "Los Angeles", 4.0);
+        OrderAllocator allocator = new OrderAllocator(inventoryManager, costTable);
+        allocator.allocate(new Order("ORD-1", "Chicago").addLine("MOU001", 2).addLine("KEY001", 3)).printAllocation();
+        
         // Use replenishment strategies
         System.out.println("\n--- Testing Replenishment Strategies ---");
         System.out.println("Main Warehouse (Automatic):");
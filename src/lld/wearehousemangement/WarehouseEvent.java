@@ -0,0 +1,50 @@
+package lld.wearehousemangement;
+
+public class WarehouseEvent {
+    private final WarehouseEventType type;
+    private final int warehouseId;
+    private final String sku;
+    private final int quantity;
+    private final int remainingQuantity;
+    private final long timestamp;
+
+    public WarehouseEvent(WarehouseEventType type, int warehouseId, String sku, int quantity, int remainingQuantity) {
+        this.type = type;
+        this.warehouseId = warehouseId;
+        this.sku = sku;
+        this.quantity = quantity;
+        this.remainingQuantity = remainingQuantity;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public WarehouseEventType getType() {
+        return type;
+    }
+
+    public int getWarehouseId() {
+        return warehouseId;
+    }
+
+    // Null for REPLENISHMENT_TRIGGERED, which is warehouse-wide
+    public String getSku() {
+        return sku;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getRemainingQuantity() {
+        return remainingQuantity;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return type + "{warehouse=" + warehouseId + ", sku=" + sku + ", quantity=" + quantity
+                + ", remaining=" + remainingQuantity + "}";
+    }
+}
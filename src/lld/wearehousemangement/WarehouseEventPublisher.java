@@ -0,0 +1,60 @@
+package lld.wearehousemangement;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fans warehouse stock events out to Flow subscribers. Each subscriber gets its own
+// bounded buffer and pulls events at its own pace via request(n). Publishing never
+// blocks the caller: if a subscriber's buffer is full the event is dropped for that
+// subscriber and counted, so a slow consumer cannot stall the pick path.
+public class WarehouseEventPublisher implements AutoCloseable {
+    public static final int DEFAULT_BUFFER_CAPACITY = 1024;
+
+    private final SubmissionPublisher<WarehouseEvent> publisher;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public WarehouseEventPublisher() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BUFFER_CAPACITY);
+    }
+
+    public WarehouseEventPublisher(Executor executor, int bufferCapacity) {
+        this.publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+    }
+
+    public void subscribe(Flow.Subscriber<? super WarehouseEvent> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    public void publish(WarehouseEvent event) {
+        if (!publisher.hasSubscribers()) {
+            return;
+        }
+        published.increment();
+        publisher.offer(event, (subscriber, rejected) -> {
+            dropped.increment();
+            return false;
+        });
+    }
+
+    public long getPublishedEvents() {
+        return published.sum();
+    }
+
+    public long getDroppedEvents() {
+        return dropped.sum();
+    }
+
+    // Largest number of events buffered for any single subscriber right now
+    public int getMaxLag() {
+        return publisher.estimateMaximumLag();
+    }
+
+    @Override
+    public void close() {
+        publisher.close();
+    }
+}
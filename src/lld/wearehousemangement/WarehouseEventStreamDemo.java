@@ -0,0 +1,62 @@
+package lld.wearehousemangement;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class WarehouseEventStreamDemo {
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService consumers = Executors.newFixedThreadPool(2);
+        WarehouseEventPublisher publisher = new WarehouseEventPublisher(consumers, 8192);
+
+        StockMovementAnalytics analytics = new StockMovementAnalytics();
+        // Deliberately slow consumer to show that it falls behind without holding up picking
+        WarehouseEventSubscriber slowConsumer = new WarehouseEventSubscriber(16) {
+            @Override
+            protected void onEvent(WarehouseEvent event) {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        publisher.subscribe(analytics);
+        publisher.subscribe(slowConsumer);
+
+        Warehouse warehouse = new Warehouse(1, "New York", "Event Warehouse");
+        warehouse.setEventPublisher(publisher);
+        ProductFactory productFactory = new ProductFactory();
+        for (int i = 0; i < 100; i++) {
+            warehouse.addProduct(productFactory.createProduct("SKU" + i, "Item " + i, ProductCategories.RETAIL, 5.0, 0), 1_000);
+        }
+
+        Random random = new Random(1);
+        int picks = 200_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < picks; i++) {
+            String sku = "SKU" + random.nextInt(100);
+            if (warehouse.products.containsKey(sku) && warehouse.products.get(sku).getQuantity() > 1) {
+                warehouse.removeProduct(sku, 1);
+            } else {
+                warehouse.addProduct(productFactory.createProduct(sku, sku, ProductCategories.RETAIL, 5.0, 0), 500);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println("Pick loop: " + picks + " operations in " + elapsed / 1_000_000 + " ms ("
+                + String.format("%.0f", elapsed / (double) picks) + " ns/op)");
+        System.out.println("Max subscriber lag at end of loop: " + publisher.getMaxLag());
+
+        publisher.close();
+        analytics.awaitCompletion(10, TimeUnit.SECONDS);
+        slowConsumer.cancel();
+
+        System.out.println("Published: " + publisher.getPublishedEvents() + ", dropped for slow subscribers: "
+                + publisher.getDroppedEvents());
+        System.out.println("Analytics events by type: " + analytics.getEventsByType());
+        System.out.println("Analytics units added: " + analytics.getUnitsAdded() + ", removed: " + analytics.getUnitsRemoved());
+        consumers.shutdownNow();
+    }
+}
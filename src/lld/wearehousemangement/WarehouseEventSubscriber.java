@@ -0,0 +1,61 @@
+package lld.wearehousemangement;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+// Base subscriber that requests events in batches and asks for the next batch once
+// half of the current one is consumed, keeping the pipeline full without unbounded demand.
+public abstract class WarehouseEventSubscriber implements Flow.Subscriber<WarehouseEvent> {
+    private final int batchSize;
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private Flow.Subscription subscription;
+    private int outstanding;
+
+    protected WarehouseEventSubscriber(int batchSize) {
+        if (batchSize < 2) {
+            throw new IllegalArgumentException("batchSize must be at least 2");
+        }
+        this.batchSize = batchSize;
+    }
+
+    protected abstract void onEvent(WarehouseEvent event);
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        outstanding = batchSize;
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(WarehouseEvent event) {
+        onEvent(event);
+        if (--outstanding <= batchSize / 2) {
+            subscription.request(batchSize - outstanding);
+            outstanding = batchSize;
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        System.out.println("Warehouse event stream failed: " + throwable.getMessage());
+        completed.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+        completed.countDown();
+    }
+
+    public void cancel() {
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        completed.countDown();
+    }
+
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        return completed.await(timeout, unit);
+    }
+}
@@ -0,0 +1,5 @@
+package lld.wearehousemangement;
+
+public enum WarehouseEventType {
+    STOCK_ADDED, STOCK_REMOVED, STOCK_DEPLETED, REPLENISHMENT_TRIGGERED
+}